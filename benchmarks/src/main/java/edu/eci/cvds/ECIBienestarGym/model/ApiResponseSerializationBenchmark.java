@@ -0,0 +1,79 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JSON rendering of the envelope returned by the session listing endpoints, with the
+ * same ObjectMapper configuration Spring MVC builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "200"})
+    private int sessions;
+
+    @Param({"30"})
+    private int usersPerSession;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<GymSession>> response;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(new TypeReference<ApiResponse<List<GymSession>>>() { });
+        List<GymSession> data = IntStream.range(0, sessions)
+                .mapToObj(this::session)
+                .toList();
+        response = new ApiResponse<>(true, "Sesiones consultadas", data);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    private GymSession session(int index) {
+        GymSession session = new GymSession();
+        session.setId("session-" + index);
+        session.setCoachId(new UserSummary("coach-" + index % 8, "Coach " + index % 8, "coach" + index % 8 + "@mail.com"));
+        session.setDate(LocalDate.of(2025, 5, 12).plusDays(index / 10));
+        session.setStartTime(LocalTime.of(6 + index % 10, 0));
+        session.setEndTime(LocalTime.of(7 + index % 10, 30));
+        session.setCapacity(usersPerSession);
+        session.setCurrentReservations(usersPerSession);
+        List<Boolean> attendance = new ArrayList<>(usersPerSession);
+        for (int i = 0; i < usersPerSession; i++) {
+            session.enroll(new UserSummary("user-" + i, "Estudiante " + i, "user" + i + "@mail.com"));
+            attendance.add(i % 3 != 0);
+        }
+        session.setAttendance(attendance);
+        return session;
+    }
+}
@@ -0,0 +1,89 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.dto.ExerciseDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.RoutineDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.enums.ExerciseType;
+import edu.eci.cvds.ECIBienestarGym.enums.MuscleGroup;
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * DTO-to-document mappers run on every reservation and physical progress write.
+ * Lives in the service package to reach the package-private mappers directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"5", "20"})
+    private int exercises;
+
+    private ReservationService reservationService;
+    private PhysicalProgressService physicalProgressService;
+    private GymSessionDTO gymSessionDTO;
+    private RoutineDTO routineDTO;
+
+    @Setup
+    public void setUp() {
+        // Los mapeadores no tocan repositorios ni caches
+        reservationService = new ReservationService(null, null, null, null, null, null);
+        physicalProgressService = new PhysicalProgressService(null, null);
+
+        UserDTO coach = new UserDTO();
+        coach.setId("coach-1");
+        coach.setName("Laura");
+        coach.setEmail("laura@mail.com");
+        coach.setRole(Role.TRAINER);
+        gymSessionDTO = new GymSessionDTO();
+        gymSessionDTO.setId("session-1");
+        gymSessionDTO.setCoachId(coach);
+        gymSessionDTO.setDate(LocalDate.of(2025, 5, 12));
+        gymSessionDTO.setStartTime(LocalTime.of(7, 0));
+        gymSessionDTO.setEndTime(LocalTime.of(8, 30));
+        gymSessionDTO.setCapacity(30);
+
+        routineDTO = new RoutineDTO();
+        routineDTO.setId("routine-1");
+        routineDTO.setName("Fuerza");
+        routineDTO.setDescription("Rutina de fuerza de tren superior");
+        routineDTO.setDifficulty(DifficultyLevel.values()[0]);
+        routineDTO.setExercises(IntStream.range(0, exercises)
+                .mapToObj(i -> new ExerciseDTO("Ejercicio " + i, 12, 4, 60, ExerciseType.values()[0], List.of(MuscleGroup.values()[0])))
+                .toList());
+    }
+
+    @Benchmark
+    public SessionSlot mapToSessionSlot() {
+        return reservationService.mapToSessionSlot(gymSessionDTO);
+    }
+
+    @Benchmark
+    public Routine mapToRoutine() {
+        return physicalProgressService.mapToRoutine(routineDTO);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
+import edu.eci.cvds.ECIBienestarGym.enums.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The in-process Collectors.groupingBy statistics that answer when the stats service is
+ * down, over reservation lists of the size a semester produces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "100000"})
+    private int reservations;
+
+    private final LocalStatsCalculator calculator = new LocalStatsCalculator();
+    private List<ReservationDTO> reservationList;
+    private Map<String, Integer> sessionsByCoach;
+
+    @Setup
+    public void setUp() {
+        int sessions = Math.max(1, reservations / 25);
+        reservationList = IntStream.range(0, reservations)
+                .mapToObj(i -> {
+                    GymSessionDTO session = new GymSessionDTO();
+                    session.setId("session-" + (i % sessions));
+                    return new ReservationDTO("reservation-" + i, new UserDTO(), session, LocalDateTime.of(2025, 5, 12, 7, 0), Status.APROBADO);
+                })
+                .toList();
+        sessionsByCoach = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            sessionsByCoach.put("coach-" + i, sessions / 40 + i);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Integer> studentsBySession() {
+        return calculator.studentsBySession(reservationList);
+    }
+
+    @Benchmark
+    public Map<String, Object> statsByCoach() {
+        return calculator.statsByCoach(sessionsByCoach);
+    }
+}
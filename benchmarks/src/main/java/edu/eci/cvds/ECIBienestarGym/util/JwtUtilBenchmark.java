@@ -0,0 +1,83 @@
+package edu.eci.cvds.ECIBienestarGym.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating the bearer token of a request: the cached path taken by every
+ * request after the first one of a session, the full HMAC parse, and a rejected token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "EPRiC0Bt0/2KcBRRWqVKhEWzModEtI6Q4K05RWuLgVQV4Xw92Ulk9kHPmQVjiRW5c9XtLNm4lgNoridiLgvZpg==";
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private String[] distinctTokens;
+    private String tamperedToken;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(10_000, new SimpleMeterRegistry());
+        // Con tamaño 0 cada token se descarta al insertarlo: siempre se valida la firma
+        uncachedJwtUtil = new JwtUtil(0, new SimpleMeterRegistry());
+        token = token("ana@mail.com");
+        cachedJwtUtil.verify(token);
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctTokens[i] = token("user" + i + "@mail.com");
+        }
+        tamperedToken = token.substring(0, token.length() - 4) + "AAAA";
+    }
+
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyCached() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyUncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return uncachedJwtUtil.verify(distinctTokens[next]);
+    }
+
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyTampered() {
+        return cachedJwtUtil.verify(tamperedToken);
+    }
+
+    private static String token(String email) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("roles", List.of("STUDENT"))
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -1,6 +1,7 @@
 package edu.eci.cvds.ECIBienestarGym.config;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import com.mongodb.lang.NonNull;
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
@@ -31,13 +32,14 @@ public class JwtRequestFilter extends OncePerRequestFilter{
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         String token = getToken(request);
-        if (token == null || !jwtUtil.isTokenValid(token)) {
+        Optional<JwtUtil.VerifiedToken> verified = token == null ? Optional.empty() : jwtUtil.verify(token);
+        if (verified.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String email = jwtUtil.extractUserEmail(token);
-        Role role = jwtUtil.extractRole(token);
+        String email = verified.get().email();
+        Role role = verified.get().role();
 
         UsernamePasswordAuthenticationToken auth =
                 new UsernamePasswordAuthenticationToken(
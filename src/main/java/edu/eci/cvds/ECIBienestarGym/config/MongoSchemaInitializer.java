@@ -0,0 +1,143 @@
+package edu.eci.cvds.ECIBienestarGym.config;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.util.Streamable;
+import org.springframework.stereotype.Component;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.PhysicalProgressRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.RoutineRepository;
+import edu.eci.cvds.ECIBienestarGym.service.SummarySyncService;
+
+/**
+ * Migrates legacy @DBRef fields to embedded summaries and boolean attendance lists to
+ * bitmaps, moves physical progress into its time-series collection, computes the masks of
+ * routines saved before they existed, creates the indexes
+ * declared on the documents at startup and logs, per collection, which of them are present
+ * on the server.
+ */
+@Component
+@ConditionalOnProperty(name = "gym.mongo.schema-init.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoSchemaInitializer implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(MongoSchemaInitializer.class);
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Reservation.class, GymSession.class, PhysicalProgress.class, Routine.class, User.class, StatsCounter.class, WaitlistEntry.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexResolver indexResolver;
+    private final SummarySyncService summarySyncService;
+    private final GymSessionRepository gymSessionRepository;
+    private final PhysicalProgressRepository physicalProgressRepository;
+    private final RoutineRepository routineRepository;
+
+    public MongoSchemaInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext, SummarySyncService summarySyncService,
+                                  GymSessionRepository gymSessionRepository, PhysicalProgressRepository physicalProgressRepository,
+                                  RoutineRepository routineRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexResolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        this.summarySyncService = summarySyncService;
+        this.gymSessionRepository = gymSessionRepository;
+        this.physicalProgressRepository = physicalProgressRepository;
+        this.routineRepository = routineRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            long migrated = summarySyncService.backfillLegacyReferences();
+            if (migrated > 0) {
+                log.info("{} documentos migrados de @DBRef a resúmenes embebidos", migrated);
+            }
+        } catch (DataAccessException | MongoException e) {
+            log.error("No fue posible migrar las referencias heredadas: {}", e.getMessage());
+        }
+        try {
+            long migrated = gymSessionRepository.migrateLegacyAttendance();
+            if (migrated > 0) {
+                log.info("{} sesiones migradas de lista de asistencia a bitmap", migrated);
+            }
+        } catch (DataAccessException | MongoException e) {
+            log.error("No fue posible migrar la asistencia heredada: {}", e.getMessage());
+        }
+        try {
+            if (!physicalProgressRepository.ensureTimeSeriesCollection()) {
+                log.warn("{} existe pero no es una serie de tiempo; las mediciones se guardan como documentos normales", PhysicalProgress.COLLECTION);
+            }
+            long migrated = physicalProgressRepository.migrateLegacyCollection();
+            if (migrated > 0) {
+                log.info("{} mediciones copiadas de {} a la serie de tiempo {}", migrated, PhysicalProgress.LEGACY_COLLECTION, PhysicalProgress.COLLECTION);
+            }
+        } catch (DataAccessException | MongoException e) {
+            log.error("No fue posible preparar la serie de tiempo de progreso físico: {}", e.getMessage());
+        }
+        try {
+            long updated = routineRepository.backfillMasks();
+            if (updated > 0) {
+                log.info("{} rutinas con máscaras de grupos musculares y tipos de ejercicio calculadas", updated);
+            }
+        } catch (DataAccessException | MongoException e) {
+            log.error("No fue posible calcular las máscaras de las rutinas: {}", e.getMessage());
+        }
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            try {
+                ensureIndexes(document);
+            } catch (DataAccessException | MongoException e) {
+                log.error("No fue posible crear los índices de {}: {}", document.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void ensureIndexes(Class<?> document) {
+        IndexOperations indexOps = mongoTemplate.indexOps(document);
+        List<IndexDefinition> declared = declaredIndexes(document);
+        declared.forEach(indexOps::ensureIndex);
+
+        Set<String> present = indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+        Set<String> missing = declared.stream()
+                .map(index -> index.getIndexOptions().getString("name"))
+                .filter(name -> name != null && !present.contains(name))
+                .collect(Collectors.toSet());
+
+        if (missing.isEmpty()) {
+            log.info("{}: {} índices verificados {}", mongoTemplate.getCollectionName(document), present.size(), present);
+        } else {
+            log.warn("{}: faltan los índices {} (presentes {})", mongoTemplate.getCollectionName(document), missing, present);
+        }
+    }
+
+    /**
+     * Indexes declared on the document itself. Indexes a nested type declares for its own
+     * collection, such as User's unique email back when GymSession.users held whole User
+     * documents, are left out on purpose; the embedded summaries declare none today.
+     */
+    private List<IndexDefinition> declaredIndexes(Class<?> document) {
+        return Streamable.of(indexResolver.resolveIndexFor(document)).stream()
+                .filter(index -> !((IndexDefinitionHolder) index).getPath().contains("."))
+                .map(IndexDefinition.class::cast)
+                .toList();
+    }
+}
@@ -31,12 +31,17 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
+                        // Las reconstrucciones recorren todo el historial y reescriben colecciones completas
+                        .requestMatchers("/api/admin/**").hasRole("ADMINISTRATOR")
+                        // Las métricas revelan rutas, volúmenes y tiempos; el scraper usa un token de administrador
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMINISTRATOR")
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/swagger-resources/**",
                                 "/webjars/**",
+                                "/actuator/health/**",
                                 "/api/**"
                         ).permitAll()
                         .anyRequest().authenticated())
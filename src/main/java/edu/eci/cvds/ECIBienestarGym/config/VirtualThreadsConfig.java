@@ -0,0 +1,27 @@
+package edu.eci.cvds.ECIBienestarGym.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+
+/**
+ * With spring.threads.virtual.enabled on Java 21, Boot already moves Tomcat, @Scheduled and the
+ * application task executor to virtual threads. The circuit breaker runs Feign calls on its own
+ * pool for the time limiter, so it is switched to virtual threads here as well.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakers() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("feign-");
+        executor.setVirtualThreads(true);
+        return factory -> factory.configureExecutorService(new ExecutorServiceAdapter(executor));
+    }
+}
@@ -3,16 +3,23 @@ package edu.eci.cvds.ECIBienestarGym.controller;
 import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
+import edu.eci.cvds.ECIBienestarGym.model.AttendanceRate;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.GymSessionView;
 import edu.eci.cvds.ECIBienestarGym.service.GymSessionService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -26,9 +33,11 @@ import java.util.List;
 public class GymSessionController {
 
     private final GymSessionService gymSessionService;
+    private final NdjsonStream ndjsonStream;
 
-    public GymSessionController(GymSessionService gymSessionService){
+    public GymSessionController(GymSessionService gymSessionService, NdjsonStream ndjsonStream) {
         this.gymSessionService = gymSessionService;
+        this.ndjsonStream = ndjsonStream;
     }
 
     @GetMapping("/user/session")
@@ -38,6 +47,26 @@ public class GymSessionController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Sesiones de gimnasio obtenidas", sessions));
     }
 
+    @GetMapping("/user/session/summary")
+    @Operation(summary = "Obtener el resumen de todas las sesiones de gimnasio", description = "Solo horario, entrenador y ocupación; no incluye los usuarios inscritos ni su asistencia.")
+    public ResponseEntity<ApiResponse<List<GymSessionView>>> getGymSessionSummaries() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Sesiones de gimnasio obtenidas", gymSessionService.getGymSessionSummaries()));
+    }
+
+    @GetMapping("/user/session/page")
+    @Operation(summary = "Obtener sesiones de gimnasio paginadas por cursor", description = "Devuelve una página ordenada por ID; el cursor de la respuesta se envía como 'after' para pedir la siguiente.")
+    public ResponseEntity<ApiResponse<CursorPage<GymSession>>> getGymSessionsPage(
+            @Parameter(description = "ID de la última sesión de la página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la página", example = "50") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Sesiones de gimnasio obtenidas", gymSessionService.getGymSessionsPage(after, size)));
+    }
+
+    @GetMapping(value = "/user/session/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar todas las sesiones de gimnasio como NDJSON", description = "Envía un documento JSON por línea a medida que se leen de la base de datos.")
+    public ResponseEntity<StreamingResponseBody> streamAllGymSessions() {
+        return ndjsonStream.of(gymSessionService::streamAllGymSessions);
+    }
+
     @GetMapping("/trainer/session/{id}")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'TRAINER')")
     @Operation(summary = "Obtener una sesión de gimnasio por su ID")
@@ -80,6 +109,14 @@ public class GymSessionController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Sesiones de gimnasio en la fecha " + date + " obtenidas", sessions));
     }
 
+    @GetMapping(value = "/user/session/date/{date}/occupancy/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'TRAINER', 'STUDENT')")
+    @Operation(summary = "Seguir en vivo la ocupación de las sesiones de una fecha", description = "Server-Sent Events: un evento 'snapshot' con todas las sesiones del día y luego eventos 'occupancy' con las sesiones que cambiaron, como máximo uno por intervalo.")
+    public SseEmitter streamOccupancy(
+            @Parameter(description = "Fecha de las sesiones", example = "2023-10-01") @PathVariable LocalDate date) {
+        return gymSessionService.streamOccupancy(date);
+    }
+
     @GetMapping("/user/session/date/{date}/time-range")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'TRAINER', 'STUDENT')")
     @Operation(summary = "Obtener sesiones de gimnasio por fecha y rango de tiempo")
@@ -143,6 +180,25 @@ public class GymSessionController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Asistencia actualizada", updatedSession));
     }
 
+    @PutMapping("/trainer/session/{id}/attendance/{userId}")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'TRAINER')")
+    @Operation(summary = "Marcar la asistencia de un estudiante", description = "Actualiza solo el bit del estudiante en la sesión, sin reescribir la lista completa.")
+    public ResponseEntity<ApiResponse<Void>> markAttendance(
+            @Parameter(description = "ID de la sesión", example = "sess123") @PathVariable String id,
+            @Parameter(description = "ID del estudiante", example = "user123") @PathVariable String userId,
+            @Parameter(description = "true si asistió, false para quitar la asistencia") @RequestParam(defaultValue = "true") boolean present) throws GYMException {
+        gymSessionService.markAttendance(id, userId, present);
+        return ResponseEntity.ok(new ApiResponse<>(true, present ? "Asistencia registrada" : "Asistencia retirada", null));
+    }
+
+    @GetMapping("/trainer/session/{id}/attendance/rate")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'TRAINER')")
+    @Operation(summary = "Obtener la tasa de asistencia de una sesión de gimnasio")
+    public ResponseEntity<ApiResponse<AttendanceRate>> getAttendanceRate(
+            @Parameter(description = "ID de la sesión", example = "sess123") @PathVariable String id) throws GYMException {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Tasa de asistencia obtenida", gymSessionService.getAttendanceRate(id)));
+    }
+
     @DeleteMapping("/trainer/session/{id}")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'TRAINER')")
     @Operation(summary = "Eliminar una sesión de gimnasio")
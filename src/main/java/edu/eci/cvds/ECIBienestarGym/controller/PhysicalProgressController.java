@@ -3,9 +3,11 @@ package edu.eci.cvds.ECIBienestarGym.controller;
 import edu.eci.cvds.ECIBienestarGym.dto.PhysicalProgressDTO;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.service.PhysicalProgressService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,9 +27,11 @@ import java.util.List;
 public class PhysicalProgressController {
 
     private final PhysicalProgressService physicalProgressService;
+    private final NdjsonStream ndjsonStream;
 
-    public PhysicalProgressController(PhysicalProgressService physicalProgressService) {
+    public PhysicalProgressController(PhysicalProgressService physicalProgressService, NdjsonStream ndjsonStream) {
         this.physicalProgressService = physicalProgressService;
+        this.ndjsonStream = ndjsonStream;
     }
 
     @GetMapping("/trainer/progress")
@@ -37,6 +42,20 @@ public class PhysicalProgressController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Registros de progreso físico obtenidos", progressList));
     }
 
+    @GetMapping("/trainer/progress/page")
+    @Operation(summary = "Obtener registros de progreso físico paginados por cursor", description = "Devuelve una página ordenada por fecha de registro e ID; el cursor de la respuesta se envía como 'after' para pedir la siguiente.")
+    public ResponseEntity<ApiResponse<CursorPage<PhysicalProgress>>> getPhysicalProgressPage(
+            @Parameter(description = "Cursor devuelto con la página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la página", example = "50") @RequestParam(defaultValue = "50") int size) throws GYMException {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Registros de progreso físico obtenidos", physicalProgressService.getPhysicalProgressPage(after, size)));
+    }
+
+    @GetMapping(value = "/trainer/progress/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar todos los registros de progreso físico como NDJSON", description = "Envía un documento JSON por línea a medida que se leen de la base de datos.")
+    public ResponseEntity<StreamingResponseBody> streamAllPhysicalProgress() {
+        return ndjsonStream.of(physicalProgressService::streamAllPhysicalProgress);
+    }
+
     @GetMapping("/trainer/progress/{id}")
 
     @Operation(summary = "Obtener un registro de progreso físico por su ID")
@@ -4,9 +4,11 @@ import edu.eci.cvds.ECIBienestarGym.dto.ReportDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.ReportType;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.Report;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.service.ReportService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,9 +28,11 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final NdjsonStream ndjsonStream;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, NdjsonStream ndjsonStream) {
         this.reportService = reportService;
+        this.ndjsonStream = ndjsonStream;
     }
 
     @GetMapping("/trainer/reports")
@@ -38,6 +43,20 @@ public class ReportController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Reportes obtenidos exitosamente", reports));
     }
 
+    @GetMapping("/trainer/reports/page")
+    @Operation(summary = "Obtener reportes paginados por cursor", description = "Devuelve una página ordenada por ID; el cursor de la respuesta se envía como 'after' para pedir la siguiente.")
+    public ResponseEntity<ApiResponse<CursorPage<Report>>> getReportsPage(
+            @Parameter(description = "ID del último reporte de la página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la página", example = "50") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reportes obtenidos exitosamente", reportService.getReportsPage(after, size)));
+    }
+
+    @GetMapping(value = "/trainer/reports/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar todos los reportes como NDJSON", description = "Envía un documento JSON por línea a medida que se leen de la base de datos.")
+    public ResponseEntity<StreamingResponseBody> streamAllReports() {
+        return ndjsonStream.of(reportService::streamAllReports);
+    }
+
     @GetMapping("/trainer/reports/{id}")
 
     @Operation(summary = "Obtener un reporte por su ID")
@@ -16,15 +16,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.Status;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.Reservation;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import edu.eci.cvds.ECIBienestarGym.projection.ReservationView;
 import edu.eci.cvds.ECIBienestarGym.service.ReservationService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,9 +40,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final NdjsonStream ndjsonStream;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, NdjsonStream ndjsonStream) {
         this.reservationService = reservationService;
+        this.ndjsonStream = ndjsonStream;
     }
 
     @Operation(summary = "Obtener todas las reservas", description = "Devuelve una lista con todas las reservas registradas.")
@@ -47,6 +54,20 @@ public class ReservationController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Reservas obtenidas exitosamente", reservationService.getAllReservations()));
     }
 
+    @GetMapping("/trainer/reservations/page")
+    @Operation(summary = "Obtener reservas paginadas por cursor", description = "Devuelve una página ordenada por ID; el cursor de la respuesta se envía como 'after' para pedir la siguiente.")
+    public ResponseEntity<ApiResponse<CursorPage<Reservation>>> getReservationsPage(
+            @Parameter(description = "ID de la última reserva de la página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la página", example = "50") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reservas obtenidas exitosamente", reservationService.getReservationsPage(after, size)));
+    }
+
+    @GetMapping(value = "/trainer/reservations/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar todas las reservas como NDJSON", description = "Envía un documento JSON por línea a medida que se leen de la base de datos.")
+    public ResponseEntity<StreamingResponseBody> streamAllReservations() {
+        return ndjsonStream.of(reservationService::streamAllReservations);
+    }
+
     @Operation(summary = "Obtener reserva por ID", description = "Devuelve una reserva específica por su ID.")
     @GetMapping("/user/reservations/{id}")
 
@@ -70,6 +91,13 @@ public class ReservationController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Reservas del usuario encontradas", reservationService.getReservationsByUserId(user)));
     }
 
+    @Operation(summary = "Obtener el resumen de las reservas de un usuario", description = "Devuelve las reservas del usuario ordenadas por fecha, sin repetir sus datos en cada una.")
+    @GetMapping("/user/reservations/user/{userId}/summary")
+    public ResponseEntity<ApiResponse<List<ReservationView>>> getReservationSummariesByUserId(
+            @Parameter(description = "ID del usuario") @PathVariable String userId) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reservas del usuario encontradas", reservationService.getReservationSummariesByUserId(userId)));
+    }
+
     @Operation(summary = "Obtener reservas por sesión de gimnasio", description = "Devuelve las reservas asociadas a una sesión específica del gimnasio.")
     @GetMapping("/trainer/reservations/{sessionId}")
 
@@ -96,16 +124,43 @@ public class ReservationController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Reservas encontradas por estado", reservationService.getReservationsByState(status)));
     }
 
-    @Operation(summary = "Crear una nueva reserva", description = "Crea una nueva reserva en el sistema.")
+    @Operation(summary = "Crear una nueva reserva", description = "Crea una nueva reserva en el sistema si la sesión aún tiene cupos disponibles.")
     @PostMapping("/user/reservations")
 
     public ResponseEntity<ApiResponse<Reservation>> createReservation(
-            @Parameter(description = "Detalles de la reserva") @RequestBody ReservationDTO reservation) {
+            @Parameter(description = "Detalles de la reserva") @RequestBody ReservationDTO reservation) throws GYMException {
         Reservation createdReservation = reservationService.createReservation(reservation);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new ApiResponse<>(true, "Reserva creada exitosamente", createdReservation));
     }
 
+    @Operation(summary = "Unirse a la lista de espera", description = "Encola al estudiante en una sesión sin cupos; al liberarse un cupo se le crea la reserva en orden de llegada.")
+    @PostMapping("/user/reservations/waitlist")
+
+    public ResponseEntity<ApiResponse<WaitlistEntry>> joinWaitlist(
+            @Parameter(description = "Detalles de la reserva a crear cuando se libere un cupo") @RequestBody ReservationDTO reservation) throws GYMException {
+        WaitlistEntry entry = reservationService.joinWaitlist(reservation);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(true, "Agregado a la lista de espera en la posición " + reservationService.getWaitlistPosition(entry), entry));
+    }
+
+    @Operation(summary = "Consultar la lista de espera de una sesión", description = "Devuelve los estudiantes en espera en orden de llegada.")
+    @GetMapping("/trainer/reservations/waitlist/{sessionId}")
+
+    public ResponseEntity<ApiResponse<List<WaitlistEntry>>> getWaitlist(
+            @Parameter(description = "ID de la sesión de gimnasio") @PathVariable String sessionId) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Lista de espera obtenida", reservationService.getWaitlist(sessionId)));
+    }
+
+    @Operation(summary = "Salir de la lista de espera", description = "Retira un turno de la lista de espera.")
+    @DeleteMapping("/user/reservations/waitlist/{entryId}")
+
+    public ResponseEntity<ApiResponse<Void>> leaveWaitlist(
+            @Parameter(description = "ID del turno en la lista de espera") @PathVariable String entryId) throws GYMException {
+        reservationService.leaveWaitlist(entryId);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Actualizar una reserva existente", description = "Actualiza los detalles de una reserva existente.")
     @PutMapping("/user/reservations/{id}")
 
@@ -124,4 +179,23 @@ public class ReservationController {
         reservationService.deleteReservation(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Eliminar una serie de reservas", description = "Elimina en una sola operación todas las reservas recurrentes de una serie.")
+    @DeleteMapping("/user/reservations/series/{seriesId}")
+
+    public ResponseEntity<ApiResponse<Void>> deleteReservationSeries(
+            @Parameter(description = "ID de la serie de reservas") @PathVariable String seriesId) throws GYMException {
+        reservationService.deleteReservationSeries(seriesId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Reprogramar una serie de reservas", description = "Desplaza en una sola operación la fecha de todas las reservas de una serie.")
+    @PutMapping("/user/reservations/series/{seriesId}/reschedule")
+
+    public ResponseEntity<ApiResponse<Long>> rescheduleReservationSeries(
+            @Parameter(description = "ID de la serie de reservas") @PathVariable String seriesId,
+            @Parameter(description = "Cantidad de días a desplazar, múltiplo de 7 (puede ser negativa)") @RequestParam("days") int days) throws GYMException {
+        long updated = reservationService.rescheduleReservationSeries(seriesId, days);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Serie de reservas reprogramada exitosamente", updated));
+    }
 }
@@ -12,14 +12,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import edu.eci.cvds.ECIBienestarGym.dto.RoutineDTO;
 import edu.eci.cvds.ECIBienestarGym.embeddables.Exercise;
 import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.enums.ExerciseType;
+import edu.eci.cvds.ECIBienestarGym.enums.MuscleGroup;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
 import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.projection.RoutineView;
 import edu.eci.cvds.ECIBienestarGym.service.RoutineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -45,6 +49,12 @@ public class RoutineController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Rutinas obtenidas exitosamente", routineService.getAllRoutines()));
     }
 
+    @Operation(summary = "Obtener el resumen de todas las rutinas", description = "Devuelve las rutinas sin sus ejercicios.")
+    @GetMapping("/user/routines/summary")
+    public ResponseEntity<ApiResponse<List<RoutineView>>> getRoutineSummaries() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Rutinas obtenidas exitosamente", routineService.getRoutineSummaries()));
+    }
+
     @Operation(summary = "Obtener rutina por ID", description = "Devuelve la rutina correspondiente al ID proporcionado.")
     @GetMapping("user/routines/{id}")
 
@@ -74,6 +84,15 @@ public class RoutineController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Rutinas encontradas", routineService.getRoutinesByDifficulty(level)));
     }
 
+    @Operation(summary = "Buscar rutinas por grupo muscular y tipo de ejercicio", description = "Devuelve las rutinas que trabajan todos los grupos musculares y tipos de ejercicio indicados, opcionalmente de una dificultad.")
+    @GetMapping("/user/routines/search")
+    public ResponseEntity<ApiResponse<List<Routine>>> searchRoutines(
+            @Parameter(description = "Grupos musculares", example = "CUADRICEPS,GLUTEOS") @RequestParam(required = false) List<MuscleGroup> muscleGroups,
+            @Parameter(description = "Tipos de ejercicio", example = "FUERZA") @RequestParam(required = false) List<ExerciseType> exerciseTypes,
+            @Parameter(description = "Nivel de dificultad de la rutina") @RequestParam(required = false) DifficultyLevel difficulty) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Rutinas encontradas", routineService.searchRoutines(muscleGroups, exerciseTypes, difficulty)));
+    }
+
     @Operation(summary = "Obtener rutinas por lista de ejercicios", description = "Devuelve las rutinas que contienen los ejercicios especificados.")
     @GetMapping("/user/exercises")
 
@@ -1,24 +1,34 @@
 package edu.eci.cvds.ECIBienestarGym.controller;
 
 import edu.eci.cvds.ECIBienestarGym.dto.PhysicalProgressDTO;
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import edu.eci.cvds.ECIBienestarGym.enums.TrendInterval;
+import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.*;
 import edu.eci.cvds.ECIBienestarGym.service.GymSessionService;
 import edu.eci.cvds.ECIBienestarGym.service.PhysicalProgressService;
+import edu.eci.cvds.ECIBienestarGym.service.ProgressSummaryService;
 import edu.eci.cvds.ECIBienestarGym.service.ReservationService;
+import edu.eci.cvds.ECIBienestarGym.service.StatsCounterService;
 import edu.eci.cvds.ECIBienestarGym.statistic.stats;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
@@ -30,24 +40,31 @@ public class StatisticsController {
     private final stats estadisticasClient;
     private final ReservationService reservationService;
     private final PhysicalProgressService physicalProgressService;
+    private final StatsCounterService statsCounterService;
+    private final ProgressSummaryService progressSummaryService;
 
-    public StatisticsController(GymSessionService gymSessionService, stats estadisticasClient, ReservationService reservationService, PhysicalProgressService physicalProgressService) {
+    public StatisticsController(GymSessionService gymSessionService, stats estadisticasClient, ReservationService reservationService,
+                                PhysicalProgressService physicalProgressService, StatsCounterService statsCounterService,
+                                ProgressSummaryService progressSummaryService) {
         this.gymSessionService = gymSessionService;
         this.reservationService = reservationService;
         this.estadisticasClient = estadisticasClient;
         this.physicalProgressService = physicalProgressService;
+        this.statsCounterService = statsCounterService;
+        this.progressSummaryService = progressSummaryService;
     }
 
     @GetMapping("/trainer/session-statistics")
     @Operation(summary = "Obtener estadísticas de sesiones por entrenador")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getSessionStatisticsByTrainer() {
-        List<GymSession> sessions = gymSessionService.getAllGymSessions();
-
-        Map<String, Integer> sesionesPorCoach = sessions.stream()
-                .collect(Collectors.groupingBy(
-                        s -> s.getCoachId().getId(),
-                        Collectors.reducing(0, e -> 1, Integer::sum)
-                ));
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSessionStatisticsByTrainer(
+            @Parameter(description = "Fecha inicial (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha final (inclusive)", example = "2025-06-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        // Sin ventana de fechas se leen los contadores mantenidos en cada escritura
+        Map<String, Integer> sesionesPorCoach = from == null && to == null
+                ? statsCounterService.sessionsByCoach()
+                : gymSessionService.countSessionsByCoach(from, to);
 
         Map<String, Object> estadisticas = estadisticasClient.getStatsByCoach(sesionesPorCoach);
 
@@ -58,17 +75,50 @@ public class StatisticsController {
 
     @GetMapping("/trainer/students-by-session")
     @Operation(summary = "Cantidad de estudiantes por sesión")
-    public ResponseEntity<ApiResponse<Map<String, Integer>>> getStudentsBySession() {
-        List<Reservation> reservations = reservationService.getAllReservations();
-
-        Map<String, Integer> studentCountBySession = reservations.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getGymSessionId().getId(),
-                        Collectors.reducing(0, e -> 1, Integer::sum)
-                ));
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getStudentsBySession(
+            @Parameter(description = "Fecha inicial (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha final (inclusive)", example = "2025-06-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Map<String, Integer> studentCountBySession = from == null && to == null
+                ? statsCounterService.reservationsBySession()
+                : reservationService.countReservationsBySession(from, to);
 
         return ResponseEntity.ok(new ApiResponse<>(true, "Conteo por sesión generado", studentCountBySession));
     }
+
+    @GetMapping("/trainer/attendance-by-day")
+    @Operation(summary = "Asistencias registradas por día")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> getAttendanceByDay() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Asistencias por día obtenidas", statsCounterService.attendanceByDay()));
+    }
+
+    @PostMapping("/admin/statistics/rebuild")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    @Operation(summary = "Reconstruir los contadores de estadísticas", description = "Recalcula todos los contadores a partir de las sesiones y reservas almacenadas.")
+    public ResponseEntity<ApiResponse<Map<CounterKind, Integer>>> rebuildStatistics() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Contadores reconstruidos", statsCounterService.rebuild()));
+    }
+
+    @PostMapping("/admin/progress-summaries/rebuild")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    @Operation(summary = "Reconstruir los resúmenes de progreso físico", description = "Recalcula el resumen de cada estudiante a partir de todas sus mediciones.")
+    public ResponseEntity<ApiResponse<Integer>> rebuildProgressSummaries() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Resúmenes de progreso reconstruidos", progressSummaryService.rebuild()));
+    }
+
+    @GetMapping("/trainer/progress-summaries")
+    @Operation(summary = "Estado actual de cada estudiante", description = "Primera y última medición, su diferencia y la cantidad de registros de cada estudiante, sin leer su historial.")
+    public ResponseEntity<ApiResponse<List<ProgressSummary>>> getProgressSummaries() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Resúmenes de progreso obtenidos", progressSummaryService.getSummaries()));
+    }
+
+    @GetMapping("/user/physical-progress/{userId}/summary")
+    @Operation(summary = "Estado actual de un estudiante")
+    public ResponseEntity<ApiResponse<ProgressSummary>> getProgressSummary(@PathVariable String userId) throws GYMException {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Resumen de progreso obtenido", progressSummaryService.getSummary(userId)));
+    }
+
     @GetMapping("/user/physical-progress/{userId}")
     @Operation(summary = "Obtener estadísticas de progreso físico por usuario")
     public ResponseEntity<ApiResponse<List<PhysicalProgressDTO>>> getPhysicalProgressByUser(@PathVariable String userId) {
@@ -97,4 +147,17 @@ public class StatisticsController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Progreso físico obtenido correctamente", progressDTOs));
     }
 
+    @GetMapping("/user/physical-progress/{userId}/trend")
+    @Operation(summary = "Obtener la tendencia del progreso físico por usuario", description = "Promedio, mínimo y máximo de cada medida por semana o mes, calculados en la base de datos, y la pendiente de cada medida por semana.")
+    public ResponseEntity<ApiResponse<ProgressTrend>> getPhysicalProgressTrend(
+            @PathVariable String userId,
+            @Parameter(description = "Agrupación de los puntos", example = "WEEK") @RequestParam(defaultValue = "WEEK") TrendInterval interval,
+            @Parameter(description = "Fecha inicial (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha final (inclusive)", example = "2025-06-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ProgressTrend trend = physicalProgressService.getProgressTrend(userId, interval, from, to);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Tendencia de progreso físico obtenida correctamente", trend));
+    }
+
 }
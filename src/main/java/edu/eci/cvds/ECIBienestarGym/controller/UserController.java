@@ -5,8 +5,11 @@ import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.UserView;
 import edu.eci.cvds.ECIBienestarGym.service.UserService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,9 +29,11 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonStream ndjsonStream;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, NdjsonStream ndjsonStream) {
         this.userService = userService;
+        this.ndjsonStream = ndjsonStream;
     }
 
     @GetMapping("/trainer/users")
@@ -37,6 +43,26 @@ public class UserController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Usuarios obtenidos exitosamente", userService.getAllUsers()));
     }
 
+    @GetMapping("/trainer/users/summary")
+    @Operation(summary = "Obtener el resumen de todos los usuarios", description = "Devuelve nombre, correo, rol y estado de registro, sin datos sensibles.")
+    public ResponseEntity<ApiResponse<List<UserView>>> getUserSummaries() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Usuarios obtenidos exitosamente", userService.getUserSummaries()));
+    }
+
+    @GetMapping("/trainer/users/page")
+    @Operation(summary = "Obtener usuarios paginados por cursor", description = "Devuelve una página ordenada por ID, sin datos sensibles; el cursor de la respuesta se envía como 'after' para pedir la siguiente.")
+    public ResponseEntity<ApiResponse<CursorPage<UserView>>> getUsersPage(
+            @Parameter(description = "ID del último usuario de la página anterior") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la página", example = "50") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Usuarios obtenidos exitosamente", userService.getUsersPage(after, size)));
+    }
+
+    @GetMapping(value = "/trainer/users/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar todos los usuarios como NDJSON", description = "Envía el resumen de un usuario por línea, sin datos sensibles, a medida que se leen de la base de datos.")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ndjsonStream.of(userService::streamAllUsers);
+    }
+
     @GetMapping("/user/users/{id}")
 
     @Operation(summary = "Obtener usuario por ID", description = "Busca un usuario en el sistema según su identificador único.")
@@ -0,0 +1,33 @@
+package edu.eci.cvds.ECIBienestarGym.embeddables;
+
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionSlot {
+    private String id;
+    private UserSummary coachId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    public SessionSlot(String id) {
+        this.id = id;
+    }
+
+    public static SessionSlot of(GymSession gymSession) {
+        return new SessionSlot(gymSession.getId(), gymSession.getCoachId(), gymSession.getDate(),
+                gymSession.getStartTime(), gymSession.getEndTime());
+    }
+}
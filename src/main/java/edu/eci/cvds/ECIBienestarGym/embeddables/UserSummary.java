@@ -0,0 +1,18 @@
+package edu.eci.cvds.ECIBienestarGym.embeddables;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummary {
+    private String id;
+    private String name;
+    private String email;
+}
@@ -0,0 +1,5 @@
+package edu.eci.cvds.ECIBienestarGym.enums;
+
+public enum CounterKind {
+    COACH_SESSIONS, SESSION_RESERVATIONS, DAILY_ATTENDANCE
+}
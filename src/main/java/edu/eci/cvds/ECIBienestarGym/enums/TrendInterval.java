@@ -0,0 +1,16 @@
+package edu.eci.cvds.ECIBienestarGym.enums;
+
+public enum TrendInterval {
+    WEEK("week"), MONTH("month");
+
+    private final String unit;
+
+    TrendInterval(String unit) {
+        this.unit = unit;
+    }
+
+    /** Unit name understood by $dateTrunc. */
+    public String unit() {
+        return unit;
+    }
+}
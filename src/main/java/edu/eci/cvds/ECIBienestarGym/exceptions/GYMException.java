@@ -6,7 +6,17 @@ public class GYMException extends Exception {
     public static final String RESERVE_NOT_FOUND = "Reserva No Encontrada";
     public static final String REPORT_NOT_FOUND = "Reporte No Encontrado";
     public static final String PHYSICAL_PROGRESS_NOT_FOUND = "Progreso Fisico No Encontrado";
+    public static final String PROGRESS_SUMMARY_NOT_FOUND = "Resumen De Progreso No Encontrado";
     public static final String GYM_SESION_NOT_FOUND = "Sesion No Encontrada";
+    public static final String GYM_SESION_FULL = "Sesion Sin Cupos Disponibles";
+    public static final String GYM_SESION_NOT_FULL = "Sesion Con Cupos Disponibles";
+    public static final String WAITLIST_ALREADY_JOINED = "Usuario Ya Se Encuentra En La Lista De Espera";
+    public static final String WAITLIST_ENTRY_NOT_FOUND = "Turno En Lista De Espera No Encontrado";
+    public static final String USER_ALREADY_IN_SESSION = "Usuario Ya Inscrito En La Sesion";
+    public static final String USER_NOT_IN_SESSION = "Usuario No Inscrito En La Sesion";
+    public static final String SERIES_SHIFT_NOT_WEEKLY = "Una Serie Solo Puede Desplazarse Semanas Completas";
+    public static final String ATTENDANCE_CONFLICT = "La Sesion Cambio Mientras Se Registraba La Asistencia, Intente De Nuevo";
+    public static final String INVALID_CURSOR = "Cursor De Pagina Invalido";
     public static final String NO_MAIL_CHANGED = "No se ha cambiado el correo";
     public static final String USER_NOT_NULL = "Usuario No Puede Ser Nulo";
 
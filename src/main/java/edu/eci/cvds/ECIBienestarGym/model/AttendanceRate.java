@@ -0,0 +1,26 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Share of the users enrolled in a gym session that were marked present.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendanceRate {
+    private String gymSessionId;
+    private int present;
+    private int enrolled;
+    private double rate;
+
+    public static AttendanceRate of(GymSession gymSession) {
+        int present = gymSession.countPresent();
+        int enrolled = gymSession.getUsers().size();
+        return new AttendanceRate(gymSession.getId(), present, enrolled, enrolled == 0 ? 0 : (double) present / enrolled);
+    }
+}
@@ -0,0 +1,41 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) pagination. {@code nextCursor} is the id to pass as
+ * {@code after} to get the following page, or null when there are no more documents.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    public static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from a query that asked for {@code size + 1} documents: the extra one
+     * only tells whether a next page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> id) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, id.apply(items.get(size - 1)));
+    }
+}
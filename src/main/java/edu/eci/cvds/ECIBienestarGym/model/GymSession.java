@@ -1,13 +1,16 @@
 package edu.eci.cvds.ECIBienestarGym.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -16,6 +19,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "gymSessions")
+@CompoundIndex(name = "date_start", def = "{'date': 1, 'startTime': 1}")
+@CompoundIndex(name = "coach_date", def = "{'coachId._id': 1, 'date': 1}")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -25,13 +30,105 @@ public class GymSession {
 
     @Id
     private String id;
-    @DBRef
-    private User coachId;
+    private UserSummary coachId;
     private LocalDate date;
     private LocalTime startTime;
     private LocalTime endTime;
     private int capacity;
     private int currentReservations;
-    private List<User> users = new ArrayList<>();
-    private List<Boolean> attendance = new ArrayList<>();
+    private List<UserSummary> users = new ArrayList<>();
+    /**
+     * User id of each attendance seat, in enrollment order. A seat is never reused or
+     * compacted: releasing a spot leaves a null tombstone, so pulling a user from users
+     * does not move anyone else's attendance bit.
+     */
+    @JsonIgnore
+    private List<String> seats = new ArrayList<>();
+    /**
+     * Attendance as a bitmap of 64-bit words: bit i of the session belongs to seats[i]. A
+     * check-in sets one bit with $bit, so it never rewrites the list of users. Empty until
+     * attendance is taken.
+     */
+    @JsonIgnore
+    private List<Long> attendanceBits = new ArrayList<>();
+    /**
+     * Bumped by every reserveSpot and releaseSpot, so copies of the session returned by
+     * concurrent spot updates can be told apart by age.
+     */
+    @JsonIgnore
+    private long occupancyVersion;
+
+    public static int wordOf(int seat) {
+        return seat / Long.SIZE;
+    }
+
+    public static long maskOf(int seat) {
+        return 1L << (seat % Long.SIZE);
+    }
+
+    /** Adds the user and gives them the next seat, as reserveSpot does on the server. */
+    public void enroll(UserSummary user) {
+        users.add(user);
+        seats.add(user.getId());
+    }
+
+    /** Attendance of each user in users order, decoded from the bitmap; empty while none was taken. */
+    @Transient
+    public List<Boolean> getAttendance() {
+        List<Boolean> attendance = new ArrayList<>();
+        if (!attendanceBits.isEmpty()) {
+            for (UserSummary user : users) {
+                attendance.add(isPresent(seatOf(user.getId())));
+            }
+        }
+        return attendance;
+    }
+
+    /** Replaces the bitmap with the attendance of each user, given in users order. */
+    public void setAttendance(List<Boolean> attendance) {
+        attendanceBits = new ArrayList<>();
+        for (int i = 0; attendance != null && i < attendance.size() && i < users.size(); i++) {
+            int seat = seatOf(users.get(i).getId());
+            if (seat >= 0) {
+                setPresent(seat, Boolean.TRUE.equals(attendance.get(i)));
+            }
+        }
+    }
+
+    public boolean isPresent(int seat) {
+        int word = wordOf(seat);
+        return seat >= 0 && word < attendanceBits.size() && (attendanceBits.get(word) & maskOf(seat)) != 0;
+    }
+
+    public void setPresent(int seat, boolean present) {
+        int word = wordOf(seat);
+        while (attendanceBits.size() <= word) {
+            attendanceBits.add(0L);
+        }
+        long bits = attendanceBits.get(word);
+        attendanceBits.set(word, present ? bits | maskOf(seat) : bits & ~maskOf(seat));
+    }
+
+    /** Users marked present, counted with a popcount per word over the seats still held. */
+    public int countPresent() {
+        int present = 0;
+        for (int word = 0; word < attendanceBits.size(); word++) {
+            long held = 0;
+            for (int seat = word * Long.SIZE; seat < Math.min(seats.size(), (word + 1) * Long.SIZE); seat++) {
+                if (seats.get(seat) != null) {
+                    held |= maskOf(seat);
+                }
+            }
+            present += Long.bitCount(attendanceBits.get(word) & held);
+        }
+        return present;
+    }
+
+    /** Seat the user currently holds, or -1 when they hold none. */
+    public int seatOf(String userId) {
+        if (userId == null) {
+            return -1;
+        }
+        return seats.indexOf(userId);
+    }
 }
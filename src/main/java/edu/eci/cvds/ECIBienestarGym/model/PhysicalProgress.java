@@ -7,19 +7,35 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
 
 import java.time.LocalDate;
 import java.util.List;
 
-@Document(collection = "physicalProgress")
+/**
+ * One check-in of a student's measurements. Stored in a time-series collection bucketed by
+ * user, so a student's history is read as a few contiguous buckets. The collection has to be
+ * created with these options before the first insert; MongoSchemaInitializer does it.
+ * A time-series collection has no index on _id, so full listings are ordered by date_id.
+ */
+@Document(collection = PhysicalProgress.COLLECTION)
+@TimeSeries(collection = PhysicalProgress.COLLECTION, timeField = "registrationDate", metaField = "userId", granularity = Granularity.HOURS)
+@CompoundIndex(name = "user_date", def = "{'userId': 1, 'registrationDate': 1}")
+@CompoundIndex(name = "date_id", def = "{'registrationDate': 1, '_id': 1}")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class PhysicalProgress {
+    public static final String COLLECTION = "physicalProgressSeries";
+    /** Regular collection the measurements lived in before the time-series one. */
+    public static final String LEGACY_COLLECTION = "physicalProgress";
+
     @Id
     private String id;
     @DBRef
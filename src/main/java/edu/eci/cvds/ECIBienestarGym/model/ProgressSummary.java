@@ -0,0 +1,78 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Current status of one student: first and latest measurements, the change between them and
+ * the number of entries. The id is the user id, so a dashboard reads one small document per
+ * student instead of the whole history.
+ */
+@Document(collection = "progressSummaries")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgressSummary {
+    @Id
+    private String id;
+    private String name;
+    private long entries;
+    private LocalDate firstDate;
+    private LocalDate latestDate;
+    private Map<String, Double> first = new LinkedHashMap<>();
+    private Map<String, Double> latest = new LinkedHashMap<>();
+    private Map<String, Double> delta = new LinkedHashMap<>();
+
+    public ProgressSummary(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Folds one measurement into the summary, with the same rules as the upsert run on each
+     * write: an older measurement replaces the first values, one on or after the latest date
+     * replaces the latest values.
+     */
+    public void record(PhysicalProgress progress) {
+        Map<String, Double> values = valuesOf(progress);
+        LocalDate date = progress.getRegistrationDate();
+        if (firstDate == null || date.isBefore(firstDate)) {
+            first = values;
+            firstDate = date;
+        }
+        if (latestDate == null || !date.isBefore(latestDate)) {
+            latest = values;
+            latestDate = date;
+        }
+        if (progress.getUserId() != null && progress.getUserId().getName() != null) {
+            name = progress.getUserId().getName();
+        }
+        entries++;
+        delta = new LinkedHashMap<>();
+        for (String metric : ProgressTrend.METRICS) {
+            delta.put(metric, latest.get(metric) - first.get(metric));
+        }
+    }
+
+    public static Map<String, Double> valuesOf(PhysicalProgress progress) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("weight", (double) progress.getWeight());
+        values.put("height", (double) progress.getHeight());
+        values.put("waists", (double) progress.getWaists());
+        values.put("chest", (double) progress.getChest());
+        values.put("rightarm", (double) progress.getRightarm());
+        values.put("leftarm", (double) progress.getLeftarm());
+        values.put("rightleg", (double) progress.getRightleg());
+        values.put("leftleg", (double) progress.getLeftleg());
+        return values;
+    }
+}
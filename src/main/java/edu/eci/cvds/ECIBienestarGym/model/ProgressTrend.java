@@ -0,0 +1,80 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import edu.eci.cvds.ECIBienestarGym.enums.TrendInterval;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A student's measurements downsampled to one point per week or month, with the least-squares
+ * slope of each metric's averages in units per week.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgressTrend {
+    public static final List<String> METRICS = List.of("weight", "height", "waists", "chest", "rightarm", "leftarm", "rightleg", "leftleg");
+
+    private String userId;
+    private TrendInterval interval;
+    private List<Point> points;
+    private Map<String, Double> slopePerWeek;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Point {
+        private LocalDate period;
+        private int measurements;
+        private Map<String, Metric> metrics;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Metric {
+        private double avg;
+        private double min;
+        private double max;
+    }
+
+    /** Builds the trend of points sorted by period; slopes need at least two periods. */
+    public static ProgressTrend of(String userId, TrendInterval interval, List<Point> points) {
+        Map<String, Double> slopes = new LinkedHashMap<>();
+        if (points.size() > 1) {
+            LocalDate origin = points.get(0).getPeriod();
+            double[] weeks = points.stream().mapToDouble(point -> ChronoUnit.DAYS.between(origin, point.getPeriod()) / 7.0).toArray();
+            for (String metric : METRICS) {
+                double[] averages = points.stream().mapToDouble(point -> point.getMetrics().get(metric).getAvg()).toArray();
+                slopes.put(metric, slope(weeks, averages));
+            }
+        }
+        return new ProgressTrend(userId, interval, points, slopes);
+    }
+
+    private static double slope(double[] x, double[] y) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += x[i] / x.length;
+            meanY += y[i] / y.length;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+}
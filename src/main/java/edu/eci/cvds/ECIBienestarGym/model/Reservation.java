@@ -1,5 +1,7 @@
 package edu.eci.cvds.ECIBienestarGym.model;
 
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
 import edu.eci.cvds.ECIBienestarGym.enums.Status;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -7,7 +9,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -17,13 +20,16 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Document(collection = "reservations")
+@CompoundIndex(name = "user_session_date", def = "{'userId._id': 1, 'gymSessionId._id': 1, 'reservationDate': 1}")
+@CompoundIndex(name = "session_date", def = "{'gymSessionId._id': 1, 'reservationDate': 1}")
 public class Reservation {
     @Id
     private String id;
-    @DBRef
-    private User userId;
-    @DBRef
-    private GymSession gymSessionId;
+    private UserSummary userId;
+    private SessionSlot gymSessionId;
+    @Indexed
     private LocalDateTime reservationDate;
     private Status state;
+    @Indexed(sparse = true)
+    private String seriesId;
 }
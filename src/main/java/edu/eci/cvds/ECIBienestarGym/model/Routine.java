@@ -8,11 +8,20 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * A training routine. muscleGroupMask and exerciseTypeMask hold one bit per
+ * {@code MuscleGroup} and {@code ExerciseType} ordinal trained by its exercises, so a search
+ * by several groups is a single $bitsAllSet; new enum constants must be appended, never
+ * inserted, or the stored masks change meaning.
+ */
+@CompoundIndex(name = "difficulty_masks", def = "{'difficulty': 1, 'muscleGroupMask': 1, 'exerciseTypeMask': 1}")
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -27,4 +36,28 @@ public class Routine {
     private List<Exercise> exercises;
     private int durationDays;
     private DifficultyLevel difficulty;
+    private int muscleGroupMask;
+    private int exerciseTypeMask;
+
+    /** Recomputes both masks from the exercises; call it whenever they change. */
+    public void refreshMasks() {
+        List<Exercise> routineExercises = exercises == null ? List.of() : exercises;
+        muscleGroupMask = maskOf(routineExercises.stream()
+                .filter(exercise -> exercise.getMuscleGroup() != null)
+                .flatMap(exercise -> exercise.getMuscleGroup().stream())
+                .toList());
+        exerciseTypeMask = maskOf(routineExercises.stream()
+                .map(Exercise::getType)
+                .toList());
+    }
+
+    public static int maskOf(Collection<? extends Enum<?>> values) {
+        int mask = 0;
+        for (Enum<?> value : values) {
+            if (value != null) {
+                mask |= 1 << value.ordinal();
+            }
+        }
+        return mask;
+    }
 }
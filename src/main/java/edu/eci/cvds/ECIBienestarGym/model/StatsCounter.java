@@ -0,0 +1,33 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One pre-aggregated statistic, e.g. the number of sessions of a coach. The id is
+ * {@code kind:key}, so every counter is a single document updated in place.
+ */
+@Document(collection = "statsCounters")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatsCounter {
+    @Id
+    private String id;
+    @Indexed
+    private CounterKind kind;
+    private String key;
+    private long value;
+
+    public static String idOf(CounterKind kind, String key) {
+        return kind + ":" + key;
+    }
+}
@@ -0,0 +1,41 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import edu.eci.cvds.ECIBienestarGym.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A student queued for a full gym session. Entries of a session are served in
+ * requestedAt order, and each one carries the reservation to create once promoted.
+ * The session date is copied in so MongoDB drops the entry once the session is over.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "waitlist")
+@CompoundIndex(name = "session_requested", def = "{'gymSessionId': 1, 'requestedAt': 1}")
+@CompoundIndex(name = "session_user", def = "{'gymSessionId': 1, 'user._id': 1}", unique = true)
+public class WaitlistEntry {
+    @Id
+    private String id;
+    private String gymSessionId;
+    private UserSummary user;
+    private LocalDateTime reservationDate;
+    private Status state;
+    private LocalDateTime requestedAt;
+    // Fecha de la sesión guardada a medianoche; el índice TTL borra la entrada al día siguiente
+    @Indexed(name = "session_date_ttl", expireAfter = "1d")
+    private LocalDate sessionDate;
+}
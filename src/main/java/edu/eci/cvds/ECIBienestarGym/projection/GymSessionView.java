@@ -0,0 +1,19 @@
+package edu.eci.cvds.ECIBienestarGym.projection;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Slot and occupancy of a gym session, without the enrolled users and their attendance.
+ */
+public interface GymSessionView {
+    String getId();
+    UserSummary getCoachId();
+    LocalDate getDate();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+    int getCapacity();
+    int getCurrentReservations();
+}
@@ -0,0 +1,17 @@
+package edu.eci.cvds.ECIBienestarGym.projection;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reservation as listed for one user: the user summary is left out since it is the same in every row.
+ */
+public interface ReservationView {
+    String getId();
+    SessionSlot getGymSessionId();
+    LocalDateTime getReservationDate();
+    Status getState();
+    String getSeriesId();
+}
@@ -0,0 +1,14 @@
+package edu.eci.cvds.ECIBienestarGym.projection;
+
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+
+/**
+ * A routine without its exercises, for catalog listings.
+ */
+public interface RoutineView {
+    String getId();
+    String getName();
+    String getDescription();
+    int getDurationDays();
+    DifficultyLevel getDifficulty();
+}
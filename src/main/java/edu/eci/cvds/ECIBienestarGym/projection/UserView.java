@@ -0,0 +1,14 @@
+package edu.eci.cvds.ECIBienestarGym.projection;
+
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
+
+/**
+ * Public fields of a user for listings; the password hash never leaves the database.
+ */
+public interface UserView {
+    String getId();
+    String getName();
+    String getEmail();
+    Role getRole();
+    boolean isRegistered();
+}
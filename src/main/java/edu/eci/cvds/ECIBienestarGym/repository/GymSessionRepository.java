@@ -2,22 +2,30 @@ package edu.eci.cvds.ECIBienestarGym.repository;
 
 
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
-import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.GymSessionView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GymSessionRepository extends MongoRepository<GymSession, String> {
+public interface GymSessionRepository extends MongoRepository<GymSession, String>, GymSessionRepositoryCustom {
 
-    List<GymSession> findByCoachId(User coachId);
+    List<GymSession> findByCoachIdId(String coachId);
     List<GymSession> findByCapacity(int capacity);
     List<GymSession> findByDate(LocalDate date);
     List<GymSession> findByStartTimeAndEndTime(LocalTime startTime, LocalTime endTime);
     List<GymSession> findByEndTime(LocalTime endTime);
-    List<GymSession> findByDateAndStartTimeBetween(LocalDate date, LocalDateTime startTime, LocalDateTime endTime);
+
+    List<GymSession> findAllByOrderByIdAsc(Limit limit);
+
+    List<GymSession> findByIdGreaterThanOrderByIdAsc(String after, Limit limit);
+
+    Stream<GymSession> streamAllByOrderByIdAsc();
+
+    List<GymSessionView> findAllViewByOrderByIdAsc();
 }
@@ -0,0 +1,82 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface GymSessionRepositoryCustom {
+
+    /**
+     * Atomically admits a user into a gym session: the reservation counter and the
+     * occupancy version are incremented and the user appended only while currentReservations is below capacity
+     * and the user does not already hold a seat in it.
+     *
+     * @return the updated session, or empty when the session is full, already has the user
+     * or does not exist.
+     */
+    Optional<GymSession> reserveSpot(String gymSessionId, UserSummary user);
+
+    /**
+     * Sets only the slot fields of a session (coach, date, times and capacity), leaving its
+     * users, seats, attendance and reservation counter to the atomic updates above.
+     *
+     * @return the updated session, or empty when it does not exist.
+     */
+    Optional<GymSession> updateSlot(String gymSessionId, UserSummary coach, LocalDate date,
+                                    LocalTime startTime, LocalTime endTime, int capacity);
+
+    /**
+     * Atomically gives back the spot a user holds in a gym session: the counter is
+     * decremented, the occupancy version incremented and the user pulled only if the user
+     * is still in the session.
+     *
+     * @return the updated session, or empty when the user held no spot in it.
+     */
+    Optional<GymSession> releaseSpot(String gymSessionId, String userId);
+
+    /**
+     * Counts sessions per coach with a $group on the server. Either bound may be null.
+     *
+     * @return coach id to number of sessions dated within [from, to].
+     */
+    Map<String, Integer> countSessionsByCoach(LocalDate from, LocalDate to);
+
+    /**
+     * Sets or clears the attendance bit of one seat with $bit, only while the seat still
+     * belongs to the user (it was not released) and the bitmap already has the word of that seat.
+     *
+     * @return the session as it was before the update, or empty when nothing matched.
+     */
+    Optional<GymSession> markAttendance(String gymSessionId, int seat, String userId, boolean present);
+
+    /**
+     * Overwrites only the attendance bitmap, and only while the seats are still the ones the
+     * bitmap was computed from, so a concurrent reservation or release is never overwritten.
+     *
+     * @return false when the seats changed or the session does not exist.
+     */
+    boolean replaceAttendance(String gymSessionId, List<String> seats, List<Long> attendanceBits);
+
+    /**
+     * Appends zero words to the attendance bitmap, only if it still has currentWords words.
+     *
+     * @return true when the bitmap was grown by this call.
+     */
+    boolean growAttendance(String gymSessionId, int currentWords, int words);
+
+    /** Users marked present per session date, counted with a popcount over the attendance bitmaps. */
+    Map<LocalDate, Integer> countAttendanceByDay();
+
+    /**
+     * One-time migration of the attendance stored as an array of booleans to the bitmap, and
+     * of sessions saved before seats existed to one seat per user in users order.
+     *
+     * @return the number of sessions rewritten.
+     */
+    long migrateLegacyAttendance();
+}
@@ -0,0 +1,182 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class GymSessionRepositoryCustomImpl implements GymSessionRepositoryCustom {
+    private static final int MIGRATION_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public GymSessionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<GymSession> reserveSpot(String gymSessionId, UserSummary user) {
+        Query query = new Query(Criteria.where("id").is(gymSessionId)
+                .and("users.id").ne(user.getId())
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf("currentReservations").lessThan("capacity"))));
+        Update update = new Update()
+                .inc("currentReservations", 1)
+                .inc("occupancyVersion", 1)
+                .push("users", user)
+                .push("seats", user.getId());
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), GymSession.class));
+    }
+
+    @Override
+    public Optional<GymSession> updateSlot(String gymSessionId, UserSummary coach, LocalDate date,
+                                           LocalTime startTime, LocalTime endTime, int capacity) {
+        Update update = new Update()
+                .set("coachId", coach)
+                .set("date", date)
+                .set("startTime", startTime)
+                .set("endTime", endTime)
+                .set("capacity", capacity);
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where("id").is(gymSessionId)), update,
+                FindAndModifyOptions.options().returnNew(true), GymSession.class));
+    }
+
+    @Override
+    public Optional<GymSession> releaseSpot(String gymSessionId, String userId) {
+        Query query = new Query(Criteria.where("id").is(gymSessionId).and("users.id").is(userId));
+        Update update = new Update()
+                .inc("currentReservations", -1)
+                .inc("occupancyVersion", 1)
+                .pull("users", Query.query(Criteria.where("id").is(userId)))
+                // El puesto queda como lápida para que los bits de los demás no se muevan
+                .set("seats.$[seat]", null)
+                .filterArray(Criteria.where("seat").is(userId));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), GymSession.class));
+    }
+
+    @Override
+    public Map<String, Integer> countSessionsByCoach(LocalDate from, LocalDate to) {
+        Criteria window = Criteria.where("coachId.id").exists(true);
+        if (from != null || to != null) {
+            window = window.and("date");
+            if (from != null) {
+                window = window.gte(from);
+            }
+            if (to != null) {
+                window = window.lte(to);
+            }
+        }
+        TypedAggregation<GymSession> aggregation = Aggregation.newAggregation(GymSession.class,
+                Aggregation.match(window),
+                Aggregation.group("coachId.id").count().as("total"));
+
+        Map<String, Integer> sessionsByCoach = new LinkedHashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Document.class)) {
+            sessionsByCoach.put(group.get("_id").toString(), group.getInteger("total"));
+        }
+        return sessionsByCoach;
+    }
+
+    @Override
+    public Optional<GymSession> markAttendance(String gymSessionId, int seat, String userId, boolean present) {
+        String word = "attendanceBits." + GymSession.wordOf(seat);
+        Query query = new Query(Criteria.where("id").is(gymSessionId)
+                .and("seats." + seat).is(userId)
+                .and(word).exists(true));
+        long mask = GymSession.maskOf(seat);
+        Update update = present
+                ? new Update().bitwise(word).or(mask)
+                : new Update().bitwise(word).and(~mask);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, GymSession.class));
+    }
+
+    @Override
+    public boolean replaceAttendance(String gymSessionId, List<String> seats, List<Long> attendanceBits) {
+        Query query = new Query(Criteria.where("id").is(gymSessionId).and("seats").is(seats));
+        return mongoTemplate.updateFirst(query, new Update().set("attendanceBits", attendanceBits), GymSession.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean growAttendance(String gymSessionId, int currentWords, int words) {
+        Criteria size = Criteria.where("attendanceBits").size(currentWords);
+        if (currentWords == 0) {
+            // Las sesiones guardadas antes del bitmap no tienen el campo
+            size = new Criteria().orOperator(size, Criteria.where("attendanceBits").exists(false));
+        }
+        Query query = new Query(Criteria.where("id").is(gymSessionId).andOperator(size));
+        Update update = new Update().push("attendanceBits").each(Collections.nCopies(words - currentWords, 0L).toArray());
+        return mongoTemplate.updateFirst(query, update, GymSession.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Map<LocalDate, Integer> countAttendanceByDay() {
+        Query query = new Query(Criteria.where("attendanceBits.0").exists(true));
+        query.fields().include("date", "attendanceBits", "seats");
+
+        Map<LocalDate, Integer> attendanceByDay = new TreeMap<>();
+        try (Stream<GymSession> sessions = mongoTemplate.stream(query, GymSession.class)) {
+            sessions.filter(gymSession -> gymSession.getDate() != null)
+                    .forEach(gymSession -> attendanceByDay.merge(gymSession.getDate(), gymSession.countPresent(), Integer::sum));
+        }
+        return attendanceByDay;
+    }
+
+    @Override
+    public long migrateLegacyAttendance() {
+        Query legacy = new Query(new Criteria().orOperator(
+                Criteria.where("attendance").exists(true), Criteria.where("seats").exists(false)));
+        legacy.fields().include("attendance", "attendanceBits", "users._id");
+
+        long migrated = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GymSession.class);
+        try (Stream<Document> sessions = mongoTemplate.stream(legacy, Document.class, mongoTemplate.getCollectionName(GymSession.class))) {
+            for (Document session : (Iterable<Document>) sessions::iterator) {
+                // Antes de los puestos, el bit i era de users[i]; es la mejor alineación disponible
+                List<String> seats = session.getList("users", Document.class, List.of()).stream()
+                        .map(user -> user.get("_id") == null ? null : user.get("_id").toString())
+                        .toList();
+                Update update = new Update().set("seats", seats);
+                if (session.containsKey("attendance")) {
+                    List<Boolean> attendance = session.getList("attendance", Boolean.class);
+                    GymSession bitmap = new GymSession();
+                    for (int seat = 0; seat < attendance.size(); seat++) {
+                        if (Boolean.TRUE.equals(attendance.get(seat))) {
+                            bitmap.setPresent(seat, true);
+                        }
+                    }
+                    update.set("attendanceBits", bitmap.getAttendanceBits()).unset("attendance");
+                }
+                bulk.updateOne(new Query(Criteria.where("_id").is(session.get("_id"))), update);
+                if (++pending == MIGRATION_BATCH_SIZE) {
+                    migrated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GymSession.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            migrated += bulk.execute().getModifiedCount();
+        }
+        return migrated;
+    }
+}
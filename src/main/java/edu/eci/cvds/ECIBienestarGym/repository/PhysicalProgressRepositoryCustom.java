@@ -0,0 +1,43 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.TrendInterval;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressTrend;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PhysicalProgressRepositoryCustom {
+
+    /**
+     * Creates the time-series collection with the options declared on PhysicalProgress when it
+     * does not exist yet.
+     *
+     * @return false when a collection with that name exists but is not a time-series one.
+     */
+    boolean ensureTimeSeriesCollection();
+
+    /**
+     * Copies the measurements still in the legacy regular collection into the time-series one,
+     * keeping their ids, and renames the legacy collection once every document was copied.
+     * Safe to re-run after a crash: a batch that may already be in the series is only copied
+     * for the ids missing there, since a time-series collection does not reject duplicate ids.
+     *
+     * @return the number of measurements copied by this call.
+     */
+    long migrateLegacyCollection();
+
+    /**
+     * Measurements after the given one in (registrationDate, _id) order, the keys of the
+     * date_id index.
+     */
+    List<PhysicalProgress> findPageAfter(LocalDate registrationDate, String id, int limit);
+
+    /**
+     * Average, minimum and maximum of every metric of a user per week or month, grouped with
+     * $dateTrunc on the server. Either bound may be null.
+     *
+     * @return one point per period with measurements, oldest first.
+     */
+    List<ProgressTrend.Point> downsample(String userId, TrendInterval interval, LocalDate from, LocalDate to);
+}
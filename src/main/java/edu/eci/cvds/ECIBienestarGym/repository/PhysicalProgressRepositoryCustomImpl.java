@@ -0,0 +1,189 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import com.mongodb.MongoNamespace;
+import edu.eci.cvds.ECIBienestarGym.enums.TrendInterval;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressTrend;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PhysicalProgressRepositoryCustomImpl implements PhysicalProgressRepositoryCustom {
+    private static final int MIGRATION_BATCH_SIZE = 500;
+    private static final String MIGRATED = "migratedToSeries";
+
+    private final MongoTemplate mongoTemplate;
+
+    public PhysicalProgressRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean ensureTimeSeriesCollection() {
+        if (!mongoTemplate.collectionExists(PhysicalProgress.class)) {
+            mongoTemplate.createCollection(PhysicalProgress.class);
+            return true;
+        }
+        Document collection = mongoTemplate.getDb().listCollections()
+                .filter(new Document("name", PhysicalProgress.COLLECTION))
+                .first();
+        return collection != null && "timeseries".equals(collection.getString("type"));
+    }
+
+    @Override
+    public long migrateLegacyCollection() {
+        if (!mongoTemplate.collectionExists(PhysicalProgress.LEGACY_COLLECTION)) {
+            return 0;
+        }
+        // Cada lote se marca con el id de la corrida antes de copiarlo y como migrado después;
+        // un lote que quedó marcado por una corrida interrumpida se revisa contra la serie
+        long migrated = copyInterrupted();
+        String run = UUID.randomUUID().toString();
+        Query pending = new Query(Criteria.where(MIGRATED).exists(false));
+        List<Document> batch = new ArrayList<>(MIGRATION_BATCH_SIZE);
+        try (Stream<Document> legacy = mongoTemplate.stream(pending, Document.class, PhysicalProgress.LEGACY_COLLECTION)) {
+            for (Document measurement : (Iterable<Document>) legacy::iterator) {
+                batch.add(measurement);
+                if (batch.size() == MIGRATION_BATCH_SIZE) {
+                    migrated += copy(batch, run);
+                    batch.clear();
+                }
+            }
+        }
+        migrated += copy(batch, run);
+
+        mongoTemplate.getCollection(PhysicalProgress.LEGACY_COLLECTION).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), PhysicalProgress.LEGACY_COLLECTION + "Migrated"));
+        return migrated;
+    }
+
+    @Override
+    public List<PhysicalProgress> findPageAfter(LocalDate registrationDate, String id, int limit) {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("registrationDate").gt(registrationDate),
+                Criteria.where("registrationDate").is(registrationDate).and("id").gt(id)))
+                .with(Sort.by(Sort.Direction.ASC, "registrationDate", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, PhysicalProgress.class);
+    }
+
+    @Override
+    public List<ProgressTrend.Point> downsample(String userId, TrendInterval interval, LocalDate from, LocalDate to) {
+        Criteria window = Criteria.where("userId").is(new User(userId));
+        if (from != null || to != null) {
+            window = window.and("registrationDate");
+            if (from != null) {
+                window = window.gte(from);
+            }
+            if (to != null) {
+                window = window.lte(to);
+            }
+        }
+        // Las fechas se guardan a medianoche de la zona del servidor, así que se truncan en esa misma zona
+        Document period = new Document("date", "$registrationDate")
+                .append("unit", interval.unit())
+                .append("timezone", ZoneId.systemDefault().getId());
+        if (interval == TrendInterval.WEEK) {
+            period.append("startOfWeek", "monday");
+        }
+        Document group = new Document("_id", new Document("$dateTrunc", period))
+                .append("measurements", new Document("$sum", 1));
+        for (String metric : ProgressTrend.METRICS) {
+            group.append(metric + "Avg", new Document("$avg", "$" + metric))
+                    .append(metric + "Min", new Document("$min", "$" + metric))
+                    .append(metric + "Max", new Document("$max", "$" + metric));
+        }
+        TypedAggregation<PhysicalProgress> aggregation = Aggregation.newAggregation(PhysicalProgress.class,
+                Aggregation.match(window),
+                context -> new Document("$group", group),
+                context -> new Document("$sort", new Document("_id", 1)));
+
+        List<ProgressTrend.Point> points = new ArrayList<>();
+        for (Document bucket : mongoTemplate.aggregate(aggregation, Document.class)) {
+            Map<String, ProgressTrend.Metric> metrics = new LinkedHashMap<>();
+            for (String metric : ProgressTrend.METRICS) {
+                metrics.put(metric, new ProgressTrend.Metric(number(bucket, metric + "Avg"), number(bucket, metric + "Min"), number(bucket, metric + "Max")));
+            }
+            points.add(new ProgressTrend.Point(LocalDate.ofInstant(bucket.getDate("_id").toInstant(), ZoneId.systemDefault()),
+                    bucket.getInteger("measurements"), metrics));
+        }
+        return points;
+    }
+
+    private static double number(Document bucket, String field) {
+        Object value = bucket.get(field);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private int copy(List<Document> batch, String run) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = idsOf(batch);
+        flag(ids, run);
+        insert(batch);
+        flag(ids, true);
+        return batch.size();
+    }
+
+    /** Finishes the batch a crashed run flagged, copying only the ids that never reached the series. */
+    private int copyInterrupted() {
+        List<Document> batch = mongoTemplate.find(new Query(Criteria.where(MIGRATED).exists(true).ne(true)),
+                Document.class, PhysicalProgress.LEGACY_COLLECTION);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = idsOf(batch);
+        Query copied = new Query(Criteria.where("_id").in(ids));
+        copied.fields().include("_id");
+        Set<Object> present = mongoTemplate.find(copied, Document.class, PhysicalProgress.COLLECTION).stream()
+                .map(measurement -> measurement.get("_id"))
+                .collect(Collectors.toSet());
+        List<Document> missing = batch.stream().filter(measurement -> !present.contains(measurement.get("_id"))).toList();
+        insert(missing);
+        flag(ids, true);
+        return missing.size();
+    }
+
+    private void insert(List<Document> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (Document measurement : batch) {
+            measurement.remove(MIGRATED);
+            if (!(measurement.get("registrationDate") instanceof Date)) {
+                // Una serie de tiempo exige la fecha; se usa la de creación del documento
+                Object id = measurement.get("_id");
+                measurement.put("registrationDate", id instanceof ObjectId objectId ? objectId.getDate() : new Date());
+            }
+        }
+        mongoTemplate.insert(batch, PhysicalProgress.COLLECTION);
+    }
+
+    private void flag(List<Object> ids, Object value) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids)), new Update().set(MIGRATED, value), PhysicalProgress.LEGACY_COLLECTION);
+    }
+
+    private static List<Object> idsOf(List<Document> batch) {
+        return batch.stream().map(measurement -> measurement.get("_id")).toList();
+    }
+}
@@ -0,0 +1,13 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProgressSummaryRepository extends MongoRepository<ProgressSummary, String>, ProgressSummaryRepositoryCustom {
+
+    List<ProgressSummary> findAllByOrderByIdAsc();
+}
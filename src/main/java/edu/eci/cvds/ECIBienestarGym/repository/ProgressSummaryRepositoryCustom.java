@@ -0,0 +1,23 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+
+import java.util.Collection;
+
+public interface ProgressSummaryRepositoryCustom {
+
+    /**
+     * Folds a measurement into its user's summary with a single pipeline upsert, so concurrent
+     * writes of the same student never lose an entry or mix first and latest values.
+     */
+    void record(PhysicalProgress progress);
+
+    /**
+     * Replaces every summary with the given ones: an unordered bulk of upserts keyed by user id,
+     * then a delete of the summaries whose user is not among them.
+     *
+     * @return the number of summaries written.
+     */
+    int replaceAll(Collection<ProgressSummary> summaries);
+}
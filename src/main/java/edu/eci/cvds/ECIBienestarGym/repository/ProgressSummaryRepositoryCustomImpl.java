@@ -0,0 +1,84 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressTrend;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public class ProgressSummaryRepositoryCustomImpl implements ProgressSummaryRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public ProgressSummaryRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void record(PhysicalProgress progress) {
+        // LocalDate se guarda como la medianoche de la zona del servidor, igual que en la serie
+        Date date = Date.from(progress.getRegistrationDate().atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Document values = new Document();
+        ProgressSummary.valuesOf(progress).forEach(values::append);
+
+        // Dentro de una misma etapa todas las expresiones ven el documento anterior a la escritura
+        Document fold = new Document()
+                .append("entries", new Document("$add", List.of(new Document("$ifNull", List.of("$entries", 0)), 1)))
+                .append("first", new Document("$cond", List.of(
+                        new Document("$or", List.of(
+                                new Document("$eq", List.of(new Document("$ifNull", List.of("$firstDate", null)), null)),
+                                new Document("$lt", List.of(date, "$firstDate")))),
+                        literal(values), "$first")))
+                .append("firstDate", new Document("$min", List.of("$firstDate", date)))
+                .append("latest", new Document("$cond", List.of(
+                        new Document("$gte", List.of(date, new Document("$ifNull", List.of("$latestDate", date)))),
+                        literal(values), "$latest")))
+                .append("latestDate", new Document("$max", List.of("$latestDate", date)));
+        if (progress.getUserId().getName() != null) {
+            fold.append("name", literal(progress.getUserId().getName()));
+        }
+        Document delta = new Document();
+        for (String metric : ProgressTrend.METRICS) {
+            delta.append(metric, new Document("$subtract", List.of("$latest." + metric, "$first." + metric)));
+        }
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        pipeline.add(context -> new Document("$set", fold));
+        pipeline.add(context -> new Document("$set", new Document("delta", delta)));
+
+        mongoTemplate.upsert(new Query(Criteria.where("id").is(progress.getUserId().getId())),
+                AggregationUpdate.from(pipeline), ProgressSummary.class);
+    }
+
+    @Override
+    public int replaceAll(Collection<ProgressSummary> summaries) {
+        // Cada resumen se reemplaza en su lugar y después se borran los de usuarios sin mediciones,
+        // así la colección nunca queda vacía mientras se reconstruye
+        List<String> ids = new ArrayList<>(summaries.size());
+        if (!summaries.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProgressSummary.class);
+            for (ProgressSummary summary : summaries) {
+                ids.add(summary.getId());
+                bulk.replaceOne(new Query(Criteria.where("id").is(summary.getId())), summary, FindAndReplaceOptions.options().upsert());
+            }
+            bulk.execute();
+        }
+        mongoTemplate.remove(new Query(Criteria.where("id").nin(ids)), ProgressSummary.class);
+        return summaries.size();
+    }
+
+    private static Document literal(Object value) {
+        // Evita que un nombre o una medida que empiece por $ se lea como expresión
+        return new Document("$literal", value);
+    }
+}
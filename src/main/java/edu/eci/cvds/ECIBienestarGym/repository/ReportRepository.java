@@ -4,11 +4,13 @@ package edu.eci.cvds.ECIBienestarGym.repository;
 import edu.eci.cvds.ECIBienestarGym.enums.ReportType;
 import edu.eci.cvds.ECIBienestarGym.model.Report;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReportRepository extends MongoRepository<Report, String> {
@@ -21,4 +23,9 @@ public interface ReportRepository extends MongoRepository<Report, String> {
 
     List<Report> findByType(ReportType type);
 
+    List<Report> findAllByOrderByIdAsc(Limit limit);
+
+    List<Report> findByIdGreaterThanOrderByIdAsc(String after, Limit limit);
+
+    Stream<Report> streamAllByOrderByIdAsc();
 }
@@ -2,25 +2,45 @@ package edu.eci.cvds.ECIBienestarGym.repository;
 
 
 import edu.eci.cvds.ECIBienestarGym.enums.Status;
-import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.Reservation;
-import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.ReservationView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReservationRepository extends MongoRepository<Reservation, String> {
+public interface ReservationRepository extends MongoRepository<Reservation, String>, ReservationRepositoryCustom {
 
 
-    List<Reservation> findByUserId(User userId);
+    List<Reservation> findByUserIdId(String userId);
 
-    List<Reservation> findByGymSessionId(GymSession gymSessionId);
+    List<ReservationView> findViewByUserIdIdOrderByReservationDateAsc(String userId);
+
+    List<Reservation> findByGymSessionIdId(String gymSessionId);
 
     List<Reservation> findByReservationDate(LocalDateTime reservationDate);
 
     List<Reservation> findReservationByState(Status state);
 
+    List<Reservation> findBySeriesId(String seriesId);
+
+    boolean existsByUserIdIdAndGymSessionIdIdAndStateNot(String userId, String gymSessionId, Status state);
+
+    long deleteBySeriesId(String seriesId);
+
+    @Query("{ 'seriesId' : ?0 }")
+    @Update(pipeline = "{ '$set' : { 'reservationDate' : { '$dateAdd' : { 'startDate' : '$reservationDate', 'unit' : 'day', 'amount' : ?1 } } } }")
+    long shiftSeriesByDays(String seriesId, int days);
+
+    List<Reservation> findAllByOrderByIdAsc(Limit limit);
+
+    List<Reservation> findByIdGreaterThanOrderByIdAsc(String after, Limit limit);
+
+    Stream<Reservation> streamAllByOrderByIdAsc();
 }
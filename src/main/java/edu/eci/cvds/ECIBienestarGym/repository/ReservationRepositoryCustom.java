@@ -0,0 +1,23 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface ReservationRepositoryCustom {
+
+    /**
+     * Copies every reservation dated in [from, to) one week forward. The copies are written
+     * as batched bulk upserts keyed on (user, session, date), so running the roll-forward
+     * again over the same window never duplicates reservations.
+     *
+     * @return the number of reservations created.
+     */
+    long rollForwardWeek(LocalDateTime from, LocalDateTime to, int batchSize);
+
+    /**
+     * Counts reservations per gym session with a $group on the server. Either bound may be null.
+     *
+     * @return session id to number of reservations dated within [from, to).
+     */
+    Map<String, Integer> countReservationsBySession(LocalDateTime from, LocalDateTime to);
+}
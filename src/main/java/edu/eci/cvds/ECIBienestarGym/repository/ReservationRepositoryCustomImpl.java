@@ -0,0 +1,106 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+    private static final String COLLECTION = "reservations";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReservationRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long rollForwardWeek(LocalDateTime from, LocalDateTime to, int batchSize) {
+        // Las reservas que aún guardan un DBRef o una referencia nula no tienen resumen que copiar
+        Query window = new Query(Criteria.where("reservationDate").gte(toDate(from)).lt(toDate(to))
+                .and("userId._id").exists(true)
+                .and("gymSessionId._id").exists(true));
+        window.fields().include("userId", "gymSessionId", "reservationDate", "state", "seriesId", "_class");
+        window.cursorBatchSize(batchSize);
+
+        long created = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        try (Stream<Document> reservations = mongoTemplate.stream(window, Document.class, COLLECTION)) {
+            for (Document reservation : (Iterable<Document>) reservations::iterator) {
+                bulk.upsert(nextWeekKey(reservation), copyOf(reservation));
+                if (++pending == batchSize) {
+                    created += bulk.execute().getUpserts().size();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            created += bulk.execute().getUpserts().size();
+        }
+        return created;
+    }
+
+    @Override
+    public Map<String, Integer> countReservationsBySession(LocalDateTime from, LocalDateTime to) {
+        Criteria window = Criteria.where("gymSessionId.id").exists(true);
+        if (from != null || to != null) {
+            window = window.and("reservationDate");
+            if (from != null) {
+                window = window.gte(from);
+            }
+            if (to != null) {
+                window = window.lt(to);
+            }
+        }
+        TypedAggregation<Reservation> aggregation = Aggregation.newAggregation(Reservation.class,
+                Aggregation.match(window),
+                Aggregation.group("gymSessionId.id").count().as("total"));
+
+        Map<String, Integer> reservationsBySession = new LinkedHashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Document.class)) {
+            reservationsBySession.put(group.get("_id").toString(), group.getInteger("total"));
+        }
+        return reservationsBySession;
+    }
+
+    private Query nextWeekKey(Document reservation) {
+        LocalDateTime date = LocalDateTime.ofInstant(reservation.getDate("reservationDate").toInstant(), ZoneId.systemDefault());
+        return new Query(Criteria.where("userId._id").is(reservation.get("userId", Document.class).get("_id"))
+                .and("gymSessionId._id").is(reservation.get("gymSessionId", Document.class).get("_id"))
+                .and("reservationDate").is(toDate(date.plusWeeks(1))));
+    }
+
+    private Update copyOf(Document reservation) {
+        Update update = new Update()
+                .setOnInsert("state", reservation.get("state"))
+                .setOnInsert("seriesId", reservation.get("seriesId"))
+                .setOnInsert("_class", reservation.get("_class"));
+        // Los _id de los resúmenes ya vienen de la llave del upsert
+        for (String summary : new String[]{"userId", "gymSessionId"}) {
+            reservation.get(summary, Document.class).forEach((field, value) -> {
+                if (!"_id".equals(field)) {
+                    update.setOnInsert(summary + "." + field, value);
+                }
+            });
+        }
+        return update;
+    }
+
+    private Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -4,13 +4,14 @@ package edu.eci.cvds.ECIBienestarGym.repository;
 import edu.eci.cvds.ECIBienestarGym.embeddables.Exercise;
 import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
 import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.projection.RoutineView;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface RoutineRepository extends MongoRepository<Routine, String> {
+public interface RoutineRepository extends MongoRepository<Routine, String>, RoutineRepositoryCustom {
 
 
 
@@ -21,6 +22,8 @@ public interface RoutineRepository extends MongoRepository<Routine, String> {
 
     List<Routine> findByDifficulty(DifficultyLevel difficult);
 
+    List<RoutineView> findAllViewByOrderByIdAsc();
+
 
 
 }
@@ -0,0 +1,22 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+
+import java.util.List;
+
+public interface RoutineRepositoryCustom {
+
+    /**
+     * Routines training every muscle group and exercise type set in the masks, with $bitsAllSet
+     * on the difficulty_masks index. A zero mask or a null difficulty does not filter.
+     */
+    List<Routine> findByMasks(int muscleGroupMask, int exerciseTypeMask, DifficultyLevel difficulty);
+
+    /**
+     * Computes the masks of the routines saved before they existed.
+     *
+     * @return the number of routines updated.
+     */
+    long backfillMasks();
+}
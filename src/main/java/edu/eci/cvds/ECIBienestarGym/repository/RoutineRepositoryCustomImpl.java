@@ -0,0 +1,60 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class RoutineRepositoryCustomImpl implements RoutineRepositoryCustom {
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public RoutineRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Routine> findByMasks(int muscleGroupMask, int exerciseTypeMask, DifficultyLevel difficulty) {
+        Criteria criteria = new Criteria();
+        if (difficulty != null) {
+            criteria.and("difficulty").is(difficulty);
+        }
+        if (muscleGroupMask != 0) {
+            criteria.and("muscleGroupMask").bits().allSet(muscleGroupMask);
+        }
+        if (exerciseTypeMask != 0) {
+            criteria.and("exerciseTypeMask").bits().allSet(exerciseTypeMask);
+        }
+        return mongoTemplate.find(new Query(criteria), Routine.class);
+    }
+
+    @Override
+    public long backfillMasks() {
+        long updated = 0;
+        int pending = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Routine.class);
+        try (Stream<Routine> routines = mongoTemplate.stream(new Query(Criteria.where("muscleGroupMask").exists(false)), Routine.class)) {
+            for (Routine routine : (Iterable<Routine>) routines::iterator) {
+                routine.refreshMasks();
+                bulk.updateOne(new Query(Criteria.where("id").is(routine.getId())),
+                        new Update().set("muscleGroupMask", routine.getMuscleGroupMask()).set("exerciseTypeMask", routine.getExerciseTypeMask()));
+                if (++pending == BACKFILL_BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Routine.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            updated += bulk.execute().getModifiedCount();
+        }
+        return updated;
+    }
+}
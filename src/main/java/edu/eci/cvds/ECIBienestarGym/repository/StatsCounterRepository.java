@@ -0,0 +1,14 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StatsCounterRepository extends MongoRepository<StatsCounter, String>, StatsCounterRepositoryCustom {
+
+    List<StatsCounter> findByKind(CounterKind kind);
+}
@@ -0,0 +1,19 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+
+import java.util.Map;
+
+public interface StatsCounterRepositoryCustom {
+
+    /** Adds delta to the counter with a single upsert $inc, creating it at delta if missing. */
+    void increment(CounterKind kind, String key, long delta);
+
+    /**
+     * Replaces every counter of the kind with the given values: an unordered bulk of upserts
+     * keyed by counter id, then a delete of the keys of the kind that are no longer present.
+     *
+     * @return the number of counters written.
+     */
+    int replaceAll(CounterKind kind, Map<String, ? extends Number> values);
+}
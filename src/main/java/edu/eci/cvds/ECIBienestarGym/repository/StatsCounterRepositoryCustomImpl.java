@@ -0,0 +1,49 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class StatsCounterRepositoryCustomImpl implements StatsCounterRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public StatsCounterRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void increment(CounterKind kind, String key, long delta) {
+        mongoTemplate.upsert(
+                new Query(Criteria.where("id").is(StatsCounter.idOf(kind, key))),
+                new Update().inc("value", delta).setOnInsert("kind", kind).setOnInsert("key", key),
+                StatsCounter.class);
+    }
+
+    @Override
+    public int replaceAll(CounterKind kind, Map<String, ? extends Number> values) {
+        // Primero se reemplaza cada contador y luego se borran las claves que ya no existen,
+        // así una lectura concurrente nunca encuentra el tipo vacío
+        List<String> ids = new ArrayList<>(values.size());
+        if (!values.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatsCounter.class);
+            values.forEach((key, value) -> {
+                String id = StatsCounter.idOf(kind, key);
+                ids.add(id);
+                bulk.replaceOne(new Query(Criteria.where("id").is(id)), new StatsCounter(id, kind, key, value.longValue()),
+                        FindAndReplaceOptions.options().upsert());
+            });
+            bulk.execute();
+        }
+        mongoTemplate.remove(new Query(Criteria.where("kind").is(kind).and("id").nin(ids)), StatsCounter.class);
+        return values.size();
+    }
+}
@@ -3,11 +3,14 @@ package edu.eci.cvds.ECIBienestarGym.repository;
 
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.UserView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 import java.util.Optional;
 
 @Repository
@@ -23,4 +26,11 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     List<User> findByRegistrationDate(LocalDate registrationDate);
 
+    List<UserView> findAllViewByOrderByIdAsc(Limit limit);
+
+    List<UserView> findViewByIdGreaterThanOrderByIdAsc(String after, Limit limit);
+
+    Stream<UserView> streamAllViewByOrderByIdAsc();
+
+    List<UserView> findAllViewByOrderByIdAsc();
 }
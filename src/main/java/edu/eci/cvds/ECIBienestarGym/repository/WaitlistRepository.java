@@ -0,0 +1,16 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends MongoRepository<WaitlistEntry, String>, WaitlistRepositoryCustom {
+
+    List<WaitlistEntry> findByGymSessionIdOrderByRequestedAtAsc(String gymSessionId);
+
+    long countByGymSessionIdAndRequestedAtLessThan(String gymSessionId, LocalDateTime requestedAt);
+}
@@ -0,0 +1,16 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+
+import java.util.Optional;
+
+public interface WaitlistRepositoryCustom {
+
+    /**
+     * Removes and returns the oldest entry of the session in a single findAndRemove,
+     * so two spots freed at the same time never promote the same student.
+     *
+     * @return the removed entry, or empty when nobody is waiting.
+     */
+    Optional<WaitlistEntry> pollFirst(String gymSessionId);
+}
@@ -0,0 +1,24 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Optional;
+
+public class WaitlistRepositoryCustomImpl implements WaitlistRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public WaitlistRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<WaitlistEntry> pollFirst(String gymSessionId) {
+        Query query = new Query(Criteria.where("gymSessionId").is(gymSessionId))
+                .with(Sort.by("requestedAt", "id"));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, WaitlistEntry.class));
+    }
+}
@@ -5,17 +5,16 @@ import java.util.Optional;
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.User;
-import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
 
 public class AuthService {
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public AuthService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public AuthService(UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     public User isUserValidate(String email, Role role) throws GYMException{
-        Optional<User> userOptional = userRepository.findByEmailAndRole(email, role);
+        Optional<User> userOptional = userPrincipalCache.findByEmail(email).filter(user -> user.getRole() == role);
         if(userOptional.isPresent()){
             return userOptional.get();
         } else {
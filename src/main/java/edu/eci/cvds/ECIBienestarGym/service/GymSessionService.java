@@ -2,39 +2,84 @@ package edu.eci.cvds.ECIBienestarGym.service;
 
 import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.AttendanceRate;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.GymSessionView;
 import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class GymSessionService {
-    private final GymSessionRepository gymSessionRepository;
+    private static final int ATTENDANCE_ATTEMPTS = 3;
 
-    public GymSessionService(GymSessionRepository gymSessionRepository) {this.gymSessionRepository = gymSessionRepository;}
+    private final GymSessionRepository gymSessionRepository;
+    private final GymSessionTimetableCache timetableCache;
+    private final StatsCounterService statsCounterService;
+    private final SessionOccupancyBroadcaster occupancyBroadcaster;
+    private final SummarySyncService summarySyncService;
+
+    public GymSessionService(GymSessionRepository gymSessionRepository, GymSessionTimetableCache timetableCache,
+                             StatsCounterService statsCounterService, SessionOccupancyBroadcaster occupancyBroadcaster,
+                             SummarySyncService summarySyncService) {
+        this.gymSessionRepository = gymSessionRepository;
+        this.timetableCache = timetableCache;
+        this.statsCounterService = statsCounterService;
+        this.occupancyBroadcaster = occupancyBroadcaster;
+        this.summarySyncService = summarySyncService;
+    }
 
     public List<GymSession> getAllGymSessions(){
         return gymSessionRepository.findAll();
     }
 
+    public List<GymSessionView> getGymSessionSummaries() {
+        return gymSessionRepository.findAllViewByOrderByIdAsc();
+    }
+
+    public CursorPage<GymSession> getGymSessionsPage(String after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<GymSession> fetched = after == null
+                ? gymSessionRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                : gymSessionRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, GymSession::getId);
+    }
+
+    public Stream<GymSession> streamAllGymSessions() {
+        return gymSessionRepository.streamAllByOrderByIdAsc();
+    }
+
     public GymSession getGymSessionById(String id) throws GYMException {return gymSessionRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));}
 
-    public List<GymSession> getGymSessionsByCoachId(User coachId){return gymSessionRepository.findByCoachId(coachId);}
+    public List<GymSession> getGymSessionsByCoachId(User coachId){return gymSessionRepository.findByCoachIdId(coachId.getId());}
 
     public List<GymSession> getGymSessionsByCapacity(int capacity){return gymSessionRepository.findByCapacity(capacity);}
 
-    public List<GymSession> getGymSessionsByDate(LocalDate date){return gymSessionRepository.findByDate(LocalDate.from(date));}
+    public List<GymSession> getGymSessionsByDate(LocalDate date){return timetableCache.sessionsOn(date);}
+
+    public SseEmitter streamOccupancy(LocalDate date) {
+        return occupancyBroadcaster.subscribe(date);
+    }
 
     public List<GymSession> getGymSessionsByDateAndTime(LocalDate date, LocalTime startTime, LocalTime endTime) {
-        LocalDateTime startDateTime = date.atTime(startTime);
-        LocalDateTime endDateTime = date.atTime(endTime);
-        return gymSessionRepository.findByDateAndStartTimeBetween(date, startDateTime, endDateTime);
+        return timetableCache.sessionsOn(date, startTime, endTime);
+    }
+
+    public Map<String, Integer> countSessionsByCoach(LocalDate from, LocalDate to) {
+        return gymSessionRepository.countSessionsByCoach(from, to);
     }
 
     public List<GymSession> getGymSessionsByStartTimeAndEndTime(LocalTime startTime, LocalTime endTime) {return gymSessionRepository.findByStartTimeAndEndTime(startTime, endTime);}
@@ -43,25 +88,89 @@ public class GymSessionService {
 
     public GymSession createGymSession(GymSessionDTO gymSessionDTO) {
         GymSession gymSession = mapToGymSession(gymSessionDTO);
-        return gymSessionRepository.save(gymSession);
+        GymSession created = gymSessionRepository.save(gymSession);
+        timetableCache.invalidate(created.getDate());
+        statsCounterService.sessionCreated(created);
+        occupancyBroadcaster.sessionChanged(created);
+        return created;
     }
     public GymSession updateGymSession(String id, GymSessionDTO gymSessionDTO) throws GYMException {
         GymSession existingSession = gymSessionRepository.findById(id)
             .orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
-        GymSession updatedSession = mapToGymSession(gymSessionDTO);
-        updatedSession.setId(existingSession.getId());
-        return gymSessionRepository.save(updatedSession);
+        // Solo se reemplaza el horario; inscritos, puestos y cupos ocupados siguen siendo de reserveSpot/releaseSpot
+        GymSession saved = gymSessionRepository.updateSlot(id, mapToUser(gymSessionDTO.getCoachId()), gymSessionDTO.getDate(),
+                        gymSessionDTO.getStartTime(), gymSessionDTO.getEndTime(), gymSessionDTO.getCapacity())
+                .orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
+        // findAndModify no publica AfterSaveEvent; el horario embebido en las reservas se sincroniza aquí
+        summarySyncService.gymSessionChanged(saved);
+        // Si cambió la fecha, la sesión sale de un día y entra en otro
+        timetableCache.invalidate(existingSession.getDate());
+        timetableCache.invalidate(saved.getDate());
+        statsCounterService.sessionReplaced(existingSession, saved);
+        if (!Objects.equals(saved.getDate(), existingSession.getDate())) {
+            occupancyBroadcaster.sessionRemoved(existingSession);
+        }
+        occupancyBroadcaster.sessionChanged(saved);
+        return saved;
     }
 
+    /**
+     * Replaces the attendance of the whole session, given in users order. Only the bitmap is
+     * written, and only while the seats read here are unchanged; a concurrent reservation or
+     * release makes it read the session again.
+     */
     public GymSession updatedAttendance(String id, List<Boolean> attendance) throws GYMException {
-        GymSession gymSession = gymSessionRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
-        gymSession.setAttendance(attendance);
-        return gymSessionRepository.save(gymSession);
+        for (int attempt = 0; attempt < ATTENDANCE_ATTEMPTS; attempt++) {
+            GymSession gymSession = gymSessionRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
+            List<Boolean> previous = gymSession.getAttendance();
+            gymSession.setAttendance(attendance);
+            if (gymSessionRepository.replaceAttendance(id, gymSession.getSeats(), gymSession.getAttendanceBits())) {
+                timetableCache.invalidate(gymSession.getDate());
+                statsCounterService.attendanceChanged(gymSession.getDate(), previous, gymSession.getAttendance());
+                return gymSession;
+            }
+        }
+        throw new GYMException(GYMException.ATTENDANCE_CONFLICT);
+    }
+
+    /**
+     * Marks one user present or absent with a single-bit update on the user's seat. Seats
+     * never move, so the update only misses when the user released the seat meanwhile or
+     * another check-in grew the bitmap first; both make it read the session again.
+     */
+    public void markAttendance(String id, String userId, boolean present) throws GYMException {
+        for (int attempt = 0; attempt < ATTENDANCE_ATTEMPTS; attempt++) {
+            GymSession gymSession = gymSessionRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
+            int seat = gymSession.seatOf(userId);
+            if (seat < 0) {
+                throw new GYMException(GYMException.USER_NOT_IN_SESSION);
+            }
+            int words = gymSession.getAttendanceBits().size();
+            if (words <= GymSession.wordOf(seat)) {
+                gymSessionRepository.growAttendance(id, words, GymSession.wordOf(seat) + 1);
+            }
+            Optional<GymSession> before = gymSessionRepository.markAttendance(id, seat, userId, present);
+            if (before.isPresent()) {
+                if (before.get().isPresent(seat) != present) {
+                    timetableCache.invalidate(gymSession.getDate());
+                    statsCounterService.attendanceMarked(gymSession.getDate(), present);
+                }
+                return;
+            }
+        }
+        throw new GYMException(GYMException.ATTENDANCE_CONFLICT);
+    }
+
+    public AttendanceRate getAttendanceRate(String id) throws GYMException {
+        return AttendanceRate.of(getGymSessionById(id));
     }
 
     public void deleteGymSession(String id) throws GYMException {
         GymSession gymSession = gymSessionRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
         gymSessionRepository.delete(gymSession);
+        timetableCache.invalidate(gymSession.getDate());
+        statsCounterService.sessionDeleted(gymSession);
+        occupancyBroadcaster.sessionRemoved(gymSession);
     }
 
     private GymSession mapToGymSession(GymSessionDTO gymSessionDTO) {
@@ -75,13 +184,8 @@ public class GymSessionService {
         return gymSession;
     }
 
-    private User mapToUser(UserDTO userDTO) {
-        User user = new User();
-        user.setId(userDTO.getId());
-        user.setName(userDTO.getName());
-        user.setEmail(userDTO.getEmail());
-        user.setRole(userDTO.getRole());
-        return user;
+    private UserSummary mapToUser(UserDTO userDTO) {
+        return new UserSummary(userDTO.getId(), userDTO.getName(), userDTO.getEmail());
     }
 
 }
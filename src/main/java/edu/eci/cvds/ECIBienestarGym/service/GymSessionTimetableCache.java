@@ -0,0 +1,104 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Read-through cache of the gym timetable. Each date is loaded once from Mongo into a map
+ * sorted by start time, so date and date-plus-time-range lookups are answered from memory
+ * until a write on that date invalidates it or the TTL elapses. Reservations only patch the
+ * occupancy of their own session.
+ */
+@Component
+public class GymSessionTimetableCache {
+    private final GymSessionRepository gymSessionRepository;
+    private final LoadingCache<LocalDate, NavigableMap<LocalTime, List<GymSession>>> timetable;
+
+    public GymSessionTimetableCache(GymSessionRepository gymSessionRepository,
+                                    @Value("${gym.sessions.timetable-cache.max-dates:60}") long maxDates,
+                                    @Value("${gym.sessions.timetable-cache.ttl:10m}") Duration ttl) {
+        this.gymSessionRepository = gymSessionRepository;
+        this.timetable = Caffeine.newBuilder()
+                .maximumSize(maxDates)
+                .expireAfterWrite(ttl)
+                .build(this::load);
+    }
+
+    public List<GymSession> sessionsOn(LocalDate date) {
+        return flatten(timetable.get(date).values());
+    }
+
+    /** Sessions of the date starting strictly between from and to, like findByDateAndStartTimeBetween. */
+    public List<GymSession> sessionsOn(LocalDate date, LocalTime from, LocalTime to) {
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        return flatten(timetable.get(date).subMap(from, false, to, false).values());
+    }
+
+    public void invalidate(LocalDate date) {
+        if (date != null) {
+            timetable.invalidate(date);
+        }
+    }
+
+    /**
+     * Puts the session returned by an atomic reserve or release in place of its cached copy,
+     * so a reservation rush does not reload the whole date on every spot. A copy with an older
+     * occupancyVersion never replaces a newer one; a session the cached date does not have
+     * drops the date instead.
+     */
+    public void refresh(GymSession gymSession) {
+        if (gymSession.getDate() != null) {
+            timetable.asMap().computeIfPresent(gymSession.getDate(), (date, slots) -> replace(slots, gymSession));
+        }
+    }
+
+    private NavigableMap<LocalTime, List<GymSession>> replace(NavigableMap<LocalTime, List<GymSession>> slots, GymSession updated) {
+        LocalTime start = Objects.requireNonNullElse(updated.getStartTime(), LocalTime.MIN);
+        List<GymSession> sessions = new ArrayList<>(slots.getOrDefault(start, List.of()));
+        for (int i = 0; i < sessions.size(); i++) {
+            GymSession cached = sessions.get(i);
+            if (Objects.equals(cached.getId(), updated.getId())) {
+                if (cached.getOccupancyVersion() >= updated.getOccupancyVersion()) {
+                    return slots;
+                }
+                sessions.set(i, updated);
+                NavigableMap<LocalTime, List<GymSession>> patched = new TreeMap<>(slots);
+                patched.put(start, List.copyOf(sessions));
+                return Collections.unmodifiableNavigableMap(patched);
+            }
+        }
+        // Devolver null saca la fecha del cache; se vuelve a leer en la próxima consulta
+        return null;
+    }
+
+    private NavigableMap<LocalTime, List<GymSession>> load(LocalDate date) {
+        NavigableMap<LocalTime, List<GymSession>> slots = new TreeMap<>();
+        for (GymSession gymSession : gymSessionRepository.findByDate(date)) {
+            LocalTime start = Objects.requireNonNullElse(gymSession.getStartTime(), LocalTime.MIN);
+            slots.computeIfAbsent(start, time -> new ArrayList<>()).add(gymSession);
+        }
+        slots.replaceAll((time, sessions) -> List.copyOf(sessions));
+        return Collections.unmodifiableNavigableMap(slots);
+    }
+
+    private List<GymSession> flatten(Collection<List<GymSession>> slots) {
+        return slots.stream().flatMap(List::stream).toList();
+    }
+}
@@ -5,28 +5,67 @@ import edu.eci.cvds.ECIBienestarGym.dto.PhysicalProgressDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.RoutineDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
 import edu.eci.cvds.ECIBienestarGym.embeddables.Exercise;
+import edu.eci.cvds.ECIBienestarGym.enums.TrendInterval;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressTrend;
 import edu.eci.cvds.ECIBienestarGym.model.Routine;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.repository.PhysicalProgressRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class PhysicalProgressService {
+    private static final String CURSOR_SEPARATOR = "_";
+
     private final PhysicalProgressRepository physicalProgressRepository;
+    private final ProgressSummaryService progressSummaryService;
 
-    public PhysicalProgressService(PhysicalProgressRepository physicalProgressRepository) {
+    public PhysicalProgressService(PhysicalProgressRepository physicalProgressRepository, ProgressSummaryService progressSummaryService) {
         this.physicalProgressRepository = physicalProgressRepository;
+        this.progressSummaryService = progressSummaryService;
     }
 
     public List<PhysicalProgress> getAllPhysicalProgress(){
         return physicalProgressRepository.findAll();
     }
 
+    /**
+     * Pages by (registrationDate, id), the keys of the date_id index: a time-series collection
+     * has no index on _id, so ordering by id alone would sort the whole collection per page.
+     * The cursor is the date and id of the last measurement, joined by '_'.
+     */
+    public CursorPage<PhysicalProgress> getPhysicalProgressPage(String after, int size) throws GYMException {
+        int pageSize = CursorPage.clampSize(size);
+        List<PhysicalProgress> fetched;
+        if (after == null) {
+            fetched = physicalProgressRepository.findAllByOrderByRegistrationDateAscIdAsc(Limit.of(pageSize + 1));
+        } else {
+            int separator = after.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new GYMException(GYMException.INVALID_CURSOR);
+            }
+            try {
+                fetched = physicalProgressRepository.findPageAfter(LocalDate.parse(after.substring(0, separator)),
+                        after.substring(separator + 1), pageSize + 1);
+            } catch (DateTimeParseException e) {
+                throw new GYMException(GYMException.INVALID_CURSOR);
+            }
+        }
+        return CursorPage.of(fetched, pageSize, progress -> progress.getRegistrationDate() + CURSOR_SEPARATOR + progress.getId());
+    }
+
+    public Stream<PhysicalProgress> streamAllPhysicalProgress() {
+        return physicalProgressRepository.streamAllByOrderByRegistrationDateAscIdAsc();
+    }
+
     public PhysicalProgress getPhysicalProgressById(String id) throws GYMException {
         return physicalProgressRepository.findById(id).orElseThrow(() -> new  GYMException(GYMException.PHYSICAL_PROGRESS_NOT_FOUND));
     }
@@ -45,9 +84,15 @@ public class PhysicalProgressService {
     public List<PhysicalProgress> getPhysicalProgressByUserIdAndDateBetween(User userId, LocalDate startDate, LocalDate endDate) {
         return physicalProgressRepository.findByUserIdAndRegistrationDateBetween(userId, startDate, endDate);
     }
+    public ProgressTrend getProgressTrend(String userId, TrendInterval interval, LocalDate from, LocalDate to) {
+        return ProgressTrend.of(userId, interval, physicalProgressRepository.downsample(userId, interval, from, to));
+    }
+
     public PhysicalProgress createPhysicalProgress(PhysicalProgressDTO physicalProgressDTO) {
         PhysicalProgress progress = mapToPhysicalProgress(physicalProgressDTO);
-        return physicalProgressRepository.save(progress);
+        PhysicalProgress saved = physicalProgressRepository.save(progress);
+        progressSummaryService.measurementRecorded(progress);
+        return saved;
     }
 
     private PhysicalProgress mapToPhysicalProgress(PhysicalProgressDTO physicalProgressDTO) {
@@ -55,7 +100,9 @@ public class PhysicalProgressService {
         physicalProgress.setUserId(mapToUser(physicalProgressDTO.getUserId()));
         physicalProgress.setRoutine(mapToRoutine(physicalProgressDTO.getRoutine())); // Mapeo de RoutineDTO a Routine
         physicalProgress.setGoal(physicalProgressDTO.getGoal());
-        physicalProgress.setRegistrationDate(physicalProgressDTO.getRegistrationDate());
+        // La serie de tiempo no admite mediciones sin fecha
+        physicalProgress.setRegistrationDate(physicalProgressDTO.getRegistrationDate() != null
+                ? physicalProgressDTO.getRegistrationDate() : LocalDate.now());
         physicalProgress.setWeight(physicalProgressDTO.getWeight());
         physicalProgress.setHeight(physicalProgressDTO.getHeight());
         physicalProgress.setWaists(physicalProgressDTO.getWaists());
@@ -76,7 +123,7 @@ public class PhysicalProgressService {
         return user;
     }
 
-    private Routine mapToRoutine(RoutineDTO routineDTO) {
+    Routine mapToRoutine(RoutineDTO routineDTO) {
         Routine routine = new Routine();
         routine.setId(routineDTO.getId());
         routine.setName(routineDTO.getName());
@@ -0,0 +1,70 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+import edu.eci.cvds.ECIBienestarGym.repository.PhysicalProgressRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.ProgressSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one summary per student (first and latest measurements, their difference and the
+ * number of entries) up to date as measurements are saved, so trainer dashboards do not scan
+ * each student's history.
+ */
+@Service
+public class ProgressSummaryService {
+    private static final Logger log = LoggerFactory.getLogger(ProgressSummaryService.class);
+
+    private final ProgressSummaryRepository progressSummaryRepository;
+    private final PhysicalProgressRepository physicalProgressRepository;
+
+    public ProgressSummaryService(ProgressSummaryRepository progressSummaryRepository, PhysicalProgressRepository physicalProgressRepository) {
+        this.progressSummaryRepository = progressSummaryRepository;
+        this.physicalProgressRepository = physicalProgressRepository;
+    }
+
+    public void measurementRecorded(PhysicalProgress progress) {
+        if (progress == null || progress.getUserId() == null || progress.getUserId().getId() == null) {
+            return;
+        }
+        try {
+            progressSummaryRepository.record(progress);
+        } catch (DataAccessException e) {
+            // La medición ya se guardó; la reconstrucción corrige el resumen
+            log.warn("No fue posible actualizar el resumen de progreso de {}: {}", progress.getUserId().getId(), e.getMessage());
+        }
+    }
+
+    public ProgressSummary getSummary(String userId) throws GYMException {
+        return progressSummaryRepository.findById(userId).orElseThrow(() -> new GYMException(GYMException.PROGRESS_SUMMARY_NOT_FOUND));
+    }
+
+    public List<ProgressSummary> getSummaries() {
+        return progressSummaryRepository.findAllByOrderByIdAsc();
+    }
+
+    /**
+     * Recomputes every summary from the measurements, fixing any drift left by writes that
+     * bypassed the service or failed halfway.
+     *
+     * @return the number of summaries written.
+     */
+    public int rebuild() {
+        Map<String, ProgressSummary> summaries = new TreeMap<>();
+        try (Stream<PhysicalProgress> measurements = physicalProgressRepository.streamAllByOrderByRegistrationDateAscIdAsc()) {
+            measurements
+                    .filter(progress -> progress.getUserId() != null && progress.getUserId().getId() != null && progress.getRegistrationDate() != null)
+                    .forEach(progress -> summaries.computeIfAbsent(progress.getUserId().getId(), ProgressSummary::new).record(progress));
+        }
+        return progressSummaryRepository.replaceAll(summaries.values());
+    }
+}
@@ -4,13 +4,16 @@ import edu.eci.cvds.ECIBienestarGym.dto.ReportDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.ReportType;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.Report;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.repository.ReportRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class ReportService {
@@ -24,6 +27,18 @@ public class ReportService {
     return reportRepository.findAll();
     }
 
+    public CursorPage<Report> getReportsPage(String after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<Report> fetched = after == null
+                ? reportRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                : reportRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, Report::getId);
+    }
+
+    public Stream<Report> streamAllReports() {
+        return reportRepository.streamAllByOrderByIdAsc();
+    }
+
     public Report getReportById(String id) throws GYMException{return reportRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.REPORT_NOT_FOUND));}
 
     public List<Report> getReportsByCoach(User coachId){
@@ -1,45 +1,56 @@
 package edu.eci.cvds.ECIBienestarGym.service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import edu.eci.cvds.ECIBienestarGym.model.Reservation;
-import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.repository.ReservationRepository;
-import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
 
 @Service
 public class ReservationScheduleService {
     private final ReservationRepository reservationRepository;
-    private final UserRepository userRepository;
+    private final StatsCounterService statsCounterService;
+    private final Timer rollForwardTimer;
+    private final Counter rolledForwardReservations;
 
-    public ReservationScheduleService(ReservationRepository reservationRepository, UserRepository userRepository) {
+    @Value("${gym.reservations.roll-forward-batch-size:500}")
+    private int batchSize = 500;
+
+    public ReservationScheduleService(ReservationRepository reservationRepository, StatsCounterService statsCounterService,
+                                      MeterRegistry meterRegistry) {
         this.reservationRepository = reservationRepository;
-        this.userRepository = userRepository;
+        this.statsCounterService = statsCounterService;
+        this.rollForwardTimer = Timer.builder("gym.reservations.roll-forward")
+                .description("Duración de la copia semanal de reservas")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rolledForwardReservations = Counter.builder("gym.reservations.roll-forward.documents")
+                .description("Reservas creadas por la copia semanal")
+                .register(meterRegistry);
     }
 
     /**
      * This method is scheduled to run every Monday at 00:00.
-     * It creates new reservations for users based on their previous reservations.
+     * It rolls last week's reservations one week forward in a single streamed pass
+     * over that window; re-running it is safe because copies are upserted.
+     * The per-session reservation counters are then rebuilt in one aggregation.
+     * Each run is timed and the reservations it creates are counted.
      */
     @Scheduled(cron = "0 0 0 * * MON") // Every Monday at 00:00
-    public void createWeeklyReservations() {
-        List<User> users = userRepository.findAll();
-        for (User user : users) {
-            List<Reservation> reservations = reservationRepository.findByUserId(user);
-            for (Reservation reservation : reservations) {
-                if (reservation.getReservationDate().isBefore(LocalDateTime.now())) {
-                    Reservation newReservation = new Reservation();
-                    newReservation.setUserId(user);
-                    newReservation.setGymSessionId(reservation.getGymSessionId());
-                    newReservation.setReservationDate(reservation.getReservationDate().plusWeeks(1));
-                    newReservation.setState(reservation.getState());
-                    reservationRepository.save(newReservation);
-                }
+    public long createWeeklyReservations() {
+        return rollForwardTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            long created = reservationRepository.rollForwardWeek(now.minusWeeks(1), now, batchSize);
+            rolledForwardReservations.increment(created);
+            if (created > 0) {
+                statsCounterService.rebuildSessionReservations();
             }
-        }
+            return created;
+        });
     }
 }
@@ -3,99 +3,358 @@ package edu.eci.cvds.ECIBienestarGym.service;
 import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
 import edu.eci.cvds.ECIBienestarGym.enums.Status;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.Reservation;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import edu.eci.cvds.ECIBienestarGym.projection.ReservationView;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
 import edu.eci.cvds.ECIBienestarGym.repository.ReservationRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.WaitlistRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationService {
     private final ReservationRepository reservationRepository;
+    private final GymSessionRepository gymSessionRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final GymSessionTimetableCache timetableCache;
+    private final StatsCounterService statsCounterService;
+    private final SessionOccupancyBroadcaster occupancyBroadcaster;
 
-    public ReservationService(ReservationRepository reservationRepository) {this.reservationRepository = reservationRepository;}
+    @Value("${gym.reservations.recurring-weeks:5}")
+    private int recurringWeeks = 5;
+
+    public ReservationService(ReservationRepository reservationRepository, GymSessionRepository gymSessionRepository,
+                              WaitlistRepository waitlistRepository, GymSessionTimetableCache timetableCache,
+                              StatsCounterService statsCounterService, SessionOccupancyBroadcaster occupancyBroadcaster) {
+        this.reservationRepository = reservationRepository;
+        this.gymSessionRepository = gymSessionRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.timetableCache = timetableCache;
+        this.statsCounterService = statsCounterService;
+        this.occupancyBroadcaster = occupancyBroadcaster;
+    }
 
     public List<Reservation> getAllReservations(){
         return reservationRepository.findAll();
     }
 
+    public CursorPage<Reservation> getReservationsPage(String after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<Reservation> fetched = after == null
+                ? reservationRepository.findAllByOrderByIdAsc(Limit.of(pageSize + 1))
+                : reservationRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, Reservation::getId);
+    }
+
+    public Stream<Reservation> streamAllReservations() {
+        return reservationRepository.streamAllByOrderByIdAsc();
+    }
+
+    /** Reservations per session dated between both days, inclusive. Either bound may be null. */
+    public Map<String, Integer> countReservationsBySession(LocalDate from, LocalDate to) {
+        return reservationRepository.countReservationsBySession(
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay());
+    }
+
     public Reservation getReservationById(String id) throws GYMException{return reservationRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.RESERVE_NOT_FOUND));}
 
     public List<Reservation> getReservationsByUserId(User userId){
-        return reservationRepository.findByUserId(userId);
+        return reservationRepository.findByUserIdId(userId.getId());
     }
 
-    public List<Reservation> getReservationsByGymSession(GymSession gymSession){return reservationRepository.findByGymSessionId(gymSession);}
+    public List<ReservationView> getReservationSummariesByUserId(String userId) {
+        return reservationRepository.findViewByUserIdIdOrderByReservationDateAsc(userId);
+    }
+
+    public List<Reservation> getReservationsByGymSession(GymSession gymSession){return reservationRepository.findByGymSessionIdId(gymSession.getId());}
 
     public List<Reservation> getReservationsByReservationDate(LocalDateTime reservationDate){return reservationRepository.findByReservationDate(reservationDate);}
 
     public List<Reservation> getReservationsByState(Status status){return reservationRepository.findReservationByState(status);}
 
-    public Reservation createReservation(ReservationDTO reservationDTO) {
-        // Crear la reserva principal
-        Reservation reservation = new Reservation();
-        reservation.setUserId(mapToUser(reservationDTO.getUserId()));
-        reservation.setGymSessionId(mapToGymSession(reservationDTO.getGymSessionId()));
-        reservation.setReservationDate(reservationDTO.getReservationDate());
-        reservation.setState(reservationDTO.getState());
-
-        GymSession gymSession = reservation.getGymSessionId();
-        gymSession.getUsers().add(reservation.getUserId());
-        gymSession.setCurrentReservations(gymSession.getCurrentReservations() + 1);
+    public Reservation createReservation(ReservationDTO reservationDTO) throws GYMException {
+        UserSummary user = mapToUser(reservationDTO.getUserId());
+        SessionSlot gymSession = SessionSlot.of(admit(reservationDTO.getGymSessionId().getId(), user));
+        return insertSeries(user, gymSession, reservationDTO.getReservationDate(), reservationDTO.getState());
+    }
 
-        // Guardar la reserva principal
-        Reservation savedReservation = reservationRepository.save(reservation);
+    /**
+     * Queues the student for a full session they do not already hold a seat in. If a spot
+     * was freed while the entry was being written, the head of the queue is promoted right away.
+     */
+    public WaitlistEntry joinWaitlist(ReservationDTO reservationDTO) throws GYMException {
+        String gymSessionId = reservationDTO.getGymSessionId().getId();
+        GymSession gymSession = gymSessionRepository.findById(gymSessionId)
+                .orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
+        UserSummary user = mapToUser(reservationDTO.getUserId());
+        if (gymSession.seatOf(user.getId()) >= 0) {
+            throw new GYMException(GYMException.USER_ALREADY_IN_SESSION);
+        }
+        if (hasSpot(gymSession)) {
+            throw new GYMException(GYMException.GYM_SESION_NOT_FULL);
+        }
 
-        // Crear y guardar las reservas recurrentes (5 semanas adicionales)
-        for (int i = 1; i <= 5; i++) {
-            Reservation recurringReservation = new Reservation();
-            recurringReservation.setUserId(reservation.getUserId());
-            recurringReservation.setGymSessionId(reservation.getGymSessionId());
-            recurringReservation.setReservationDate(reservation.getReservationDate().plusWeeks(i));
-            recurringReservation.setState(reservation.getState());
-            reservationRepository.save(recurringReservation);
+        WaitlistEntry entry = new WaitlistEntry(null, gymSessionId, user, reservationDTO.getReservationDate(),
+                reservationDTO.getState(), LocalDateTime.now(), gymSession.getDate());
+        try {
+            entry = waitlistRepository.insert(entry);
+        } catch (DuplicateKeyException e) {
+            throw new GYMException(GYMException.WAITLIST_ALREADY_JOINED);
         }
+        if (gymSessionRepository.findById(gymSessionId).filter(this::hasSpot).isPresent()) {
+            promoteFromWaitlist(gymSessionId);
+        }
+        return entry;
+    }
 
-        // Retornar la reserva principal guardada
-        return savedReservation;
+    /** 1-based place of the entry in its session's queue. */
+    public long getWaitlistPosition(WaitlistEntry entry) {
+        return waitlistRepository.countByGymSessionIdAndRequestedAtLessThan(entry.getGymSessionId(), entry.getRequestedAt()) + 1;
+    }
+
+    public List<WaitlistEntry> getWaitlist(String gymSessionId) {
+        return waitlistRepository.findByGymSessionIdOrderByRequestedAtAsc(gymSessionId);
+    }
+
+    public void leaveWaitlist(String entryId) throws GYMException {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new GYMException(GYMException.WAITLIST_ENTRY_NOT_FOUND));
+        waitlistRepository.delete(entry);
     }
 
+    /**
+     * Moving a reservation to another session or user, or taking it out of RECHAZADO, goes
+     * through the same conditional admission as a new reservation; the seat it leaves is
+     * released afterwards like on a delete.
+     */
     public Reservation updateReservation(String id, ReservationDTO reservationDTO) throws GYMException {
         Reservation reservation = reservationRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.RESERVE_NOT_FOUND));
+        String previousSessionId = sessionIdOf(reservation);
+        String previousUserId = userIdOf(reservation);
+        boolean wasActive = reservation.getState() != Status.RECHAZADO;
         reservation.setUserId(mapToUser(reservationDTO.getUserId()));
-        reservation.setGymSessionId(mapToGymSession(reservationDTO.getGymSessionId()));
+        reservation.setGymSessionId(mapToSessionSlot(reservationDTO.getGymSessionId()));
         reservation.setReservationDate(reservationDTO.getReservationDate());
         reservation.setState(reservationDTO.getState());
-        return reservationRepository.save(reservation);
+        boolean isActive = reservation.getState() != Status.RECHAZADO;
+        boolean moved = !Objects.equals(previousSessionId, sessionIdOf(reservation))
+                || !Objects.equals(previousUserId, userIdOf(reservation));
+        if (isActive && (moved || !wasActive)) {
+            holdSpot(sessionIdOf(reservation), reservation.getUserId());
+        }
+        Reservation saved = reservationRepository.save(reservation);
+        if (!Objects.equals(previousSessionId, sessionIdOf(saved))) {
+            statsCounterService.reservationsRemoved(previousSessionId, 1);
+            statsCounterService.reservationsAdded(sessionIdOf(saved), 1);
+        }
+        if (wasActive && (moved || !isActive)) {
+            releaseSpot(previousSessionId, previousUserId);
+        }
+        return saved;
     }
 
     public void deleteReservation(String id) throws GYMException {
         Reservation reservation = reservationRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.RESERVE_NOT_FOUND));
         reservationRepository.delete(reservation);
+        statsCounterService.reservationsRemoved(sessionIdOf(reservation), 1);
+        releaseSpot(sessionIdOf(reservation), userIdOf(reservation));
+    }
+
+    public long deleteReservationSeries(String seriesId) throws GYMException {
+        // Una serie tiene pocas reservas; se leen para descontarlas de su sesión
+        List<Reservation> series = reservationRepository.findBySeriesId(seriesId);
+        Map<String, Long> bySession = series.stream()
+                .filter(reservation -> sessionIdOf(reservation) != null)
+                .collect(Collectors.groupingBy(this::sessionIdOf, Collectors.counting()));
+        long deleted = reservationRepository.deleteBySeriesId(seriesId);
+        if (deleted == 0) {
+            throw new GYMException(GYMException.RESERVE_NOT_FOUND);
+        }
+        bySession.forEach(statsCounterService::reservationsRemoved);
+        series.stream()
+                .filter(reservation -> sessionIdOf(reservation) != null && userIdOf(reservation) != null)
+                .map(reservation -> Map.entry(sessionIdOf(reservation), userIdOf(reservation)))
+                .distinct()
+                .forEach(spot -> releaseSpot(spot.getKey(), spot.getValue()));
+        return deleted;
+    }
+
+    /**
+     * Shifts every reservation of the series by whole weeks. Each reservation keeps pointing at
+     * the same session, which only repeats on that weekday, so any other shift is rejected.
+     */
+    public long rescheduleReservationSeries(String seriesId, int days) throws GYMException {
+        if (days % 7 != 0) {
+            throw new GYMException(GYMException.SERIES_SHIFT_NOT_WEEKLY);
+        }
+        long updated = reservationRepository.shiftSeriesByDays(seriesId, days);
+        if (updated == 0) {
+            throw new GYMException(GYMException.RESERVE_NOT_FOUND);
+        }
+        return updated;
+    }
+
+    /**
+     * Reserves a spot with a single conditional findAndModify, so concurrent requests
+     * can never push a session over its capacity nor seat the same user twice.
+     */
+    private GymSession admit(String gymSessionId, UserSummary user) throws GYMException {
+        Optional<GymSession> admitted = gymSessionRepository.reserveSpot(gymSessionId, user);
+        if (admitted.isPresent()) {
+            // El cupo ocupado cambia la sesión que se muestra en el horario de ese día
+            timetableCache.refresh(admitted.get());
+            occupancyBroadcaster.sessionChanged(admitted.get());
+            return admitted.get();
+        }
+        GymSession gymSession = gymSessionRepository.findById(gymSessionId)
+                .orElseThrow(() -> new GYMException(GYMException.GYM_SESION_NOT_FOUND));
+        if (gymSession.seatOf(user.getId()) >= 0) {
+            throw new GYMException(GYMException.USER_ALREADY_IN_SESSION);
+        }
+        throw new GYMException(GYMException.GYM_SESION_FULL);
+    }
+
+    /**
+     * Like {@link #admit}, but a seat the user already holds is enough: the reservations of a
+     * series share the session and its single seat.
+     */
+    private void holdSpot(String gymSessionId, UserSummary user) throws GYMException {
+        try {
+            admit(gymSessionId, user);
+        } catch (GYMException e) {
+            if (!GYMException.USER_ALREADY_IN_SESSION.equals(e.getMessage())) {
+                throw e;
+            }
+        }
+    }
+
+    private Reservation insertSeries(UserSummary user, SessionSlot gymSession, LocalDateTime reservationDate, Status state) {
+        // La reserva principal y sus semanas recurrentes se escriben en un solo insert ordenado
+        String seriesId = UUID.randomUUID().toString();
+        List<Reservation> series = new ArrayList<>(recurringWeeks + 1);
+        for (int i = 0; i <= recurringWeeks; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setUserId(user);
+            reservation.setGymSessionId(gymSession);
+            reservation.setReservationDate(reservationDate.plusWeeks(i));
+            reservation.setState(state);
+            reservation.setSeriesId(seriesId);
+            series.add(reservation);
+        }
+
+        List<Reservation> saved;
+        try {
+            saved = reservationRepository.insert(series);
+        } catch (DataAccessException e) {
+            // El cupo ya se tomó en admit; si la serie no quedó guardada se devuelve
+            releaseSpot(gymSession.getId(), user.getId());
+            throw e;
+        }
+        statsCounterService.reservationsAdded(gymSession.getId(), saved.size());
+
+        // Retornar la reserva principal guardada
+        return saved.get(0);
+    }
+
+    /**
+     * Gives the user's spot back once no active reservation of theirs points at the
+     * session any more, and hands it to the head of the session's waitlist.
+     */
+    private void releaseSpot(String gymSessionId, String userId) {
+        if (gymSessionId == null || userId == null
+                || reservationRepository.existsByUserIdIdAndGymSessionIdIdAndStateNot(userId, gymSessionId, Status.RECHAZADO)) {
+            return;
+        }
+        Optional<GymSession> released = gymSessionRepository.releaseSpot(gymSessionId, userId);
+        if (released.isPresent()) {
+            timetableCache.refresh(released.get());
+            occupancyBroadcaster.sessionChanged(released.get());
+            promoteFromWaitlist(gymSessionId);
+        }
+    }
+
+    /**
+     * Pops the oldest entry and admits it with the same conditional update used for direct
+     * reservations. If a direct reservation took the spot first, the entry goes back into
+     * the queue with its original requestedAt, so it keeps its place; an entry whose student
+     * already holds a seat is dropped.
+     */
+    private void promoteFromWaitlist(String gymSessionId) {
+        Optional<WaitlistEntry> next = waitlistRepository.pollFirst(gymSessionId);
+        if (next.isEmpty()) {
+            return;
+        }
+        WaitlistEntry entry = next.get();
+        Optional<GymSession> admitted = gymSessionRepository.reserveSpot(gymSessionId, entry.getUser());
+        if (admitted.isEmpty()) {
+            // Si el estudiante ya tiene puesto (reservó directamente), su turno se descarta
+            boolean seated = gymSessionRepository.findById(gymSessionId)
+                    .filter(gymSession -> gymSession.seatOf(entry.getUser().getId()) >= 0)
+                    .isPresent();
+            if (!seated) {
+                requeue(entry);
+            }
+            return;
+        }
+        timetableCache.refresh(admitted.get());
+        occupancyBroadcaster.sessionChanged(admitted.get());
+        insertSeries(entry.getUser(), SessionSlot.of(admitted.get()), entry.getReservationDate(), entry.getState());
+    }
+
+    private void requeue(WaitlistEntry entry) {
+        try {
+            waitlistRepository.insert(entry);
+        } catch (DuplicateKeyException e) {
+            // El estudiante volvió a unirse mientras su turno estaba fuera de la cola; queda la entrada nueva
+        }
+    }
+
+    private boolean hasSpot(GymSession gymSession) {
+        return gymSession.getCurrentReservations() < gymSession.getCapacity();
+    }
+
+    private String userIdOf(Reservation reservation) {
+        return reservation.getUserId() == null ? null : reservation.getUserId().getId();
+    }
+
+    private String sessionIdOf(Reservation reservation) {
+        return reservation.getGymSessionId() == null ? null : reservation.getGymSessionId().getId();
     }
 
-    private User mapToUser(UserDTO userDTO) {
-        User user = new User();
-        user.setId(userDTO.getId());
-        user.setName(userDTO.getName());
-        user.setEmail(userDTO.getEmail());
-        return user;
+    UserSummary mapToUser(UserDTO userDTO) {
+        return new UserSummary(userDTO.getId(), userDTO.getName(), userDTO.getEmail());
     }
 
-    private GymSession mapToGymSession(GymSessionDTO gymSessionDTO) {
-        GymSession gymSession = new GymSession();
+    SessionSlot mapToSessionSlot(GymSessionDTO gymSessionDTO) {
+        SessionSlot gymSession = new SessionSlot();
         gymSession.setId(gymSessionDTO.getId());
         gymSession.setCoachId(mapToUser(gymSessionDTO.getCoachId()));
         gymSession.setDate(gymSessionDTO.getDate());
         gymSession.setStartTime(gymSessionDTO.getStartTime());
         gymSession.setEndTime(gymSessionDTO.getEndTime());
-        gymSession.setCapacity(gymSessionDTO.getCapacity());
-        gymSession.setCurrentReservations(gymSessionDTO.getCurrentReservations());
         return gymSession;
     }
 
@@ -0,0 +1,162 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.projection.RoutineView;
+import edu.eci.cvds.ECIBienestarGym.repository.RoutineRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the routine catalog, held as an immutable snapshot with indexes by id,
+ * name and difficulty plus the packed muscle group and exercise type masks. The catalog is
+ * small and rarely edited, so every write of this instance builds a new snapshot and swaps
+ * it in atomically; readers never lock and never see a half-applied change. The whole
+ * catalog is reloaded once the TTL elapses to pick up writes of other instances.
+ * <p>
+ * Returned routines are shared by every reader and must not be modified.
+ */
+@Component
+public class RoutineCatalog {
+    private static final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    private final RoutineRepository routineRepository;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<Routine> routines, List<RoutineView> views, Map<String, Routine> byId,
+                            Map<String, List<Routine>> byName, Map<DifficultyLevel, List<Routine>> byDifficulty,
+                            int[] muscleGroupMasks, int[] exerciseTypeMasks, DifficultyLevel[] difficulties, long loadedAt) {
+
+        static Snapshot of(List<Routine> routines, long loadedAt) {
+            int size = routines.size();
+            Map<String, Routine> byId = new HashMap<>();
+            Map<String, List<Routine>> byName = new HashMap<>();
+            Map<DifficultyLevel, List<Routine>> byDifficulty = new EnumMap<>(DifficultyLevel.class);
+            int[] muscleGroupMasks = new int[size];
+            int[] exerciseTypeMasks = new int[size];
+            DifficultyLevel[] difficulties = new DifficultyLevel[size];
+            for (int i = 0; i < size; i++) {
+                Routine routine = routines.get(i);
+                byId.put(routine.getId(), routine);
+                if (routine.getName() != null) {
+                    byName.computeIfAbsent(routine.getName(), name -> new ArrayList<>()).add(routine);
+                }
+                if (routine.getDifficulty() != null) {
+                    byDifficulty.computeIfAbsent(routine.getDifficulty(), difficulty -> new ArrayList<>()).add(routine);
+                }
+                muscleGroupMasks[i] = routine.getMuscleGroupMask();
+                exerciseTypeMasks[i] = routine.getExerciseTypeMask();
+                difficulties[i] = routine.getDifficulty();
+            }
+            byName.replaceAll((name, named) -> List.copyOf(named));
+            byDifficulty.replaceAll((difficulty, leveled) -> List.copyOf(leveled));
+            List<RoutineView> views = routines.stream()
+                    .map(routine -> projectionFactory.createProjection(RoutineView.class, routine))
+                    .toList();
+            return new Snapshot(List.copyOf(routines), views, Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName),
+                    Collections.unmodifiableMap(byDifficulty), muscleGroupMasks, exerciseTypeMasks, difficulties, loadedAt);
+        }
+    }
+
+    public RoutineCatalog(RoutineRepository routineRepository,
+                          @Value("${gym.routines.catalog.enabled:true}") boolean enabled,
+                          @Value("${gym.routines.catalog.ttl:10m}") Duration ttl) {
+        this.routineRepository = routineRepository;
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Routine> all() {
+        return current().routines;
+    }
+
+    public List<RoutineView> views() {
+        return current().views;
+    }
+
+    public Optional<Routine> byId(String id) {
+        return Optional.ofNullable(current().byId.get(id));
+    }
+
+    public List<Routine> byName(String name) {
+        return current().byName.getOrDefault(name, List.of());
+    }
+
+    public List<Routine> byDifficulty(DifficultyLevel difficulty) {
+        return current().byDifficulty.getOrDefault(difficulty, List.of());
+    }
+
+    /** Same semantics as RoutineRepository.findByMasks: zero masks and a null difficulty do not filter. */
+    public List<Routine> search(int muscleGroupMask, int exerciseTypeMask, DifficultyLevel difficulty) {
+        Snapshot current = current();
+        List<Routine> matches = new ArrayList<>();
+        for (int i = 0; i < current.muscleGroupMasks.length; i++) {
+            if ((current.muscleGroupMasks[i] & muscleGroupMask) == muscleGroupMask
+                    && (current.exerciseTypeMasks[i] & exerciseTypeMask) == exerciseTypeMask
+                    && (difficulty == null || current.difficulties[i] == difficulty)) {
+                matches.add(current.routines.get(i));
+            }
+        }
+        return matches;
+    }
+
+    public void routineSaved(Routine routine) {
+        replace(routine.getId(), routine);
+    }
+
+    public void routineDeleted(String routineId) {
+        replace(routineId, null);
+    }
+
+    private synchronized void replace(String routineId, Routine routine) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Aún no se ha cargado; la primera lectura trae el catálogo con este cambio incluido
+            return;
+        }
+        // Una rutina editada conserva su posición; una nueva va al final, como en Mongo
+        Map<String, Routine> routines = new LinkedHashMap<>();
+        current.routines.forEach(existing -> routines.put(existing.getId(), existing));
+        if (routine == null) {
+            routines.remove(routineId);
+        } else {
+            routines.put(routineId, routine);
+        }
+        snapshot = Snapshot.of(new ArrayList<>(routines.values()), current.loadedAt);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAt > ttlNanos) {
+            current = reload();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot reload() {
+        Snapshot current = snapshot;
+        // Otro hilo pudo recargar mientras este esperaba el candado
+        if (current == null || System.nanoTime() - current.loadedAt > ttlNanos) {
+            current = Snapshot.of(routineRepository.findAll(), System.nanoTime());
+            snapshot = current;
+        }
+        return current;
+    }
+}
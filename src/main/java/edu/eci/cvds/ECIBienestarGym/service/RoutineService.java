@@ -4,32 +4,56 @@ import edu.eci.cvds.ECIBienestarGym.dto.ExerciseDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.RoutineDTO;
 import edu.eci.cvds.ECIBienestarGym.embeddables.Exercise;
 import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.enums.ExerciseType;
+import edu.eci.cvds.ECIBienestarGym.enums.MuscleGroup;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.projection.RoutineView;
 import edu.eci.cvds.ECIBienestarGym.repository.RoutineRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class RoutineService {
     private final RoutineRepository routineRepository;
+    private final RoutineCatalog routineCatalog;
 
-    public RoutineService(RoutineRepository routineRepository) {
+    public RoutineService(RoutineRepository routineRepository, RoutineCatalog routineCatalog) {
         this.routineRepository = routineRepository;
+        this.routineCatalog = routineCatalog;
     }
 
     public List<Routine> getAllRoutines(){
-        return routineRepository.findAll();
+        return routineCatalog.isEnabled() ? routineCatalog.all() : routineRepository.findAll();
     }
 
-    public Routine getRoutineById(String id) throws GYMException{return routineRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.ROUTINE_NOT_FOUND));}
+    public List<RoutineView> getRoutineSummaries() {
+        return routineCatalog.isEnabled() ? routineCatalog.views() : routineRepository.findAllViewByOrderByIdAsc();
+    }
+
+    public Routine getRoutineById(String id) throws GYMException{
+        return (routineCatalog.isEnabled() ? routineCatalog.byId(id) : routineRepository.findById(id))
+                .orElseThrow(() -> new GYMException(GYMException.ROUTINE_NOT_FOUND));
+    }
 
-    public List<Routine> getRoutinesByName(String name){return  routineRepository.findByName(name);}
+    public List<Routine> getRoutinesByName(String name){return routineCatalog.isEnabled() ? routineCatalog.byName(name) : routineRepository.findByName(name);}
 
     public List<Routine> getRoutinesByExercises(List<Exercise> exercises) {return routineRepository.findByExercises(exercises);}
 
-    public List<Routine> getRoutinesByDifficulty(DifficultyLevel difficultyLevel) {return routineRepository.findByDifficulty(difficultyLevel);}
+    public List<Routine> getRoutinesByDifficulty(DifficultyLevel difficultyLevel) {
+        return routineCatalog.isEnabled() ? routineCatalog.byDifficulty(difficultyLevel) : routineRepository.findByDifficulty(difficultyLevel);
+    }
+
+    /** Routines training every given muscle group and exercise type; empty collections and a null difficulty do not filter. */
+    public List<Routine> searchRoutines(Collection<MuscleGroup> muscleGroups, Collection<ExerciseType> exerciseTypes, DifficultyLevel difficulty) {
+        int muscleGroupMask = Routine.maskOf(muscleGroups == null ? List.of() : muscleGroups);
+        int exerciseTypeMask = Routine.maskOf(exerciseTypes == null ? List.of() : exerciseTypes);
+        return routineCatalog.isEnabled()
+                ? routineCatalog.search(muscleGroupMask, exerciseTypeMask, difficulty)
+                : routineRepository.findByMasks(muscleGroupMask, exerciseTypeMask, difficulty);
+    }
 
      public Routine createRoutine(RoutineDTO routineDTO) {
         Routine routine = new Routine();
@@ -37,7 +61,10 @@ public class RoutineService {
         routine.setDescription(routineDTO.getDescription());
         routine.setDifficulty(routineDTO.getDifficulty());
         routine.setExercises(mapToExercises(routineDTO.getExercises()));
-        return routineRepository.save(routine);
+        routine.refreshMasks();
+        Routine saved = routineRepository.save(routine);
+        routineCatalog.routineSaved(saved);
+        return saved;
     }
 
     private List<Exercise> mapToExercises(List<ExerciseDTO> exerciseDTOs) {
@@ -52,11 +79,15 @@ public class RoutineService {
         routine.setDescription(routineDTO.getDescription());
         routine.setDifficulty(routineDTO.getDifficulty());
         routine.setExercises(mapToExercises(routineDTO.getExercises()));
-        return routineRepository.save(routine);
+        routine.refreshMasks();
+        Routine saved = routineRepository.save(routine);
+        routineCatalog.routineSaved(saved);
+        return saved;
     }
 
     public void deleteRoutine(String id) throws GYMException {
         Routine routine = routineRepository.findById(id).orElseThrow(() -> new GYMException(GYMException.ROUTINE_NOT_FOUND));
         routineRepository.delete(routine);
+        routineCatalog.routineDeleted(id);
     }
 }
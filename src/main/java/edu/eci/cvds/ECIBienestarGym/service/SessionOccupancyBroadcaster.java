@@ -0,0 +1,126 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Pushes the occupancy of the gym sessions of a date to the clients streaming that date.
+ * Writes only record the latest occupancy of each session; a scheduled flush sends what
+ * changed since the previous one in a single event per date, so a burst of bookings
+ * costs each client at most one update per session and interval.
+ * <p>
+ * A new stream starts with a snapshot of the whole day, so a client that reconnects
+ * after a timeout does not miss anything.
+ */
+@Service
+public class SessionOccupancyBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(SessionOccupancyBroadcaster.class);
+
+    private final GymSessionTimetableCache timetableCache;
+    private final long streamTimeoutMillis;
+    private final Map<LocalDate, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<SessionKey, Occupancy> pending = new ConcurrentHashMap<>();
+
+    /** Occupancy of one session as sent to the clients; removed marks a deleted or rescheduled session. */
+    public record Occupancy(String gymSessionId, LocalTime startTime, LocalTime endTime,
+                            int currentReservations, int capacity, boolean removed) {
+
+        static Occupancy of(GymSession gymSession, boolean removed) {
+            return new Occupancy(gymSession.getId(), gymSession.getStartTime(), gymSession.getEndTime(),
+                    gymSession.getCurrentReservations(), gymSession.getCapacity(), removed);
+        }
+    }
+
+    private record SessionKey(LocalDate date, String gymSessionId) {
+    }
+
+    public SessionOccupancyBroadcaster(GymSessionTimetableCache timetableCache,
+                                       @Value("${gym.sessions.occupancy.stream-timeout:30m}") Duration streamTimeout) {
+        this.timetableCache = timetableCache;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    /**
+     * Registers the listener before reading the snapshot, so a change made while the snapshot is
+     * read is still recorded for its date and reaches the listener on the next flush.
+     */
+    public SseEmitter subscribe(LocalDate date) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        register(date, emitter);
+        List<Occupancy> snapshot = timetableCache.sessionsOn(date).stream()
+                .map(gymSession -> Occupancy.of(gymSession, false))
+                .toList();
+        send(date, emitter, "snapshot", snapshot);
+        return emitter;
+    }
+
+    void register(LocalDate date, SseEmitter emitter) {
+        emitters.computeIfAbsent(date, day -> new CopyOnWriteArraySet<>()).add(emitter);
+        emitter.onCompletion(() -> unregister(date, emitter));
+        emitter.onTimeout(() -> unregister(date, emitter));
+        emitter.onError(error -> unregister(date, emitter));
+    }
+
+    public void sessionChanged(GymSession gymSession) {
+        record(gymSession, false);
+    }
+
+    public void sessionRemoved(GymSession gymSession) {
+        record(gymSession, true);
+    }
+
+    /** Sends the occupancy recorded since the previous flush, one event per date with listeners. */
+    @Scheduled(fixedDelayString = "${gym.sessions.occupancy.flush-interval:1s}")
+    public void flush() {
+        Map<LocalDate, List<Occupancy>> changes = new TreeMap<>();
+        for (Map.Entry<SessionKey, Occupancy> change : pending.entrySet()) {
+            // Si la sesión cambió otra vez durante el envío, el valor nuevo queda para el siguiente
+            if (pending.remove(change.getKey(), change.getValue())) {
+                changes.computeIfAbsent(change.getKey().date(), date -> new ArrayList<>()).add(change.getValue());
+            }
+        }
+        changes.forEach((date, occupancy) -> emitters.getOrDefault(date, Set.of())
+                .forEach(emitter -> send(date, emitter, "occupancy", occupancy)));
+    }
+
+    private void record(GymSession gymSession, boolean removed) {
+        // Solo se acumulan cambios de fechas que alguien está mirando
+        if (gymSession.getDate() != null && emitters.containsKey(gymSession.getDate())) {
+            pending.put(new SessionKey(gymSession.getDate(), gymSession.getId()), Occupancy.of(gymSession, removed));
+        }
+    }
+
+    private void send(LocalDate date, SseEmitter emitter, String event, List<Occupancy> occupancy) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(occupancy, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Se descarta un stream de ocupación de {}: {}", date, e.getMessage());
+            unregister(date, emitter);
+        }
+    }
+
+    private void unregister(LocalDate date, SseEmitter emitter) {
+        emitters.computeIfPresent(date, (day, listeners) -> {
+            listeners.remove(emitter);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.ReservationRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.StatsCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the statistics counters (sessions per coach, reservations per session and attendance
+ * per day) up to date as sessions and reservations are written, so the statistics endpoints
+ * read a handful of small documents instead of scanning the history.
+ */
+@Service
+public class StatsCounterService {
+    private static final Logger log = LoggerFactory.getLogger(StatsCounterService.class);
+
+    private final StatsCounterRepository statsCounterRepository;
+    private final GymSessionRepository gymSessionRepository;
+    private final ReservationRepository reservationRepository;
+
+    public StatsCounterService(StatsCounterRepository statsCounterRepository, GymSessionRepository gymSessionRepository,
+                               ReservationRepository reservationRepository) {
+        this.statsCounterRepository = statsCounterRepository;
+        this.gymSessionRepository = gymSessionRepository;
+        this.reservationRepository = reservationRepository;
+    }
+
+    public void sessionCreated(GymSession gymSession) {
+        increment(CounterKind.COACH_SESSIONS, coachOf(gymSession), 1);
+        increment(CounterKind.DAILY_ATTENDANCE, dayOf(gymSession.getDate()), gymSession.countPresent());
+    }
+
+    public void sessionDeleted(GymSession gymSession) {
+        increment(CounterKind.COACH_SESSIONS, coachOf(gymSession), -1);
+        increment(CounterKind.DAILY_ATTENDANCE, dayOf(gymSession.getDate()), -gymSession.countPresent());
+    }
+
+    public void sessionReplaced(GymSession before, GymSession after) {
+        sessionDeleted(before);
+        sessionCreated(after);
+    }
+
+    public void attendanceChanged(LocalDate date, List<Boolean> before, List<Boolean> after) {
+        increment(CounterKind.DAILY_ATTENDANCE, dayOf(date), present(after) - present(before));
+    }
+
+    public void attendanceMarked(LocalDate date, boolean present) {
+        increment(CounterKind.DAILY_ATTENDANCE, dayOf(date), present ? 1 : -1);
+    }
+
+    public void reservationsAdded(String gymSessionId, long count) {
+        increment(CounterKind.SESSION_RESERVATIONS, gymSessionId, count);
+    }
+
+    public void reservationsRemoved(String gymSessionId, long count) {
+        increment(CounterKind.SESSION_RESERVATIONS, gymSessionId, -count);
+    }
+
+    public Map<String, Integer> sessionsByCoach() {
+        return read(CounterKind.COACH_SESSIONS, new LinkedHashMap<>());
+    }
+
+    public Map<String, Integer> reservationsBySession() {
+        return read(CounterKind.SESSION_RESERVATIONS, new LinkedHashMap<>());
+    }
+
+    public Map<String, Integer> attendanceByDay() {
+        return read(CounterKind.DAILY_ATTENDANCE, new TreeMap<>());
+    }
+
+    /**
+     * Recomputes every counter from the source collections, fixing any drift left by
+     * writes that bypassed the services or failed halfway.
+     *
+     * @return the number of counters written per kind.
+     */
+    public Map<CounterKind, Integer> rebuild() {
+        Map<CounterKind, Integer> written = new EnumMap<>(CounterKind.class);
+        written.put(CounterKind.COACH_SESSIONS,
+                statsCounterRepository.replaceAll(CounterKind.COACH_SESSIONS, gymSessionRepository.countSessionsByCoach(null, null)));
+        written.put(CounterKind.SESSION_RESERVATIONS, rebuildSessionReservations());
+        written.put(CounterKind.DAILY_ATTENDANCE,
+                statsCounterRepository.replaceAll(CounterKind.DAILY_ATTENDANCE, gymSessionRepository.countAttendanceByDay().entrySet().stream()
+                        .collect(Collectors.toMap(entry -> dayOf(entry.getKey()), Map.Entry::getValue))));
+        return written;
+    }
+
+    public int rebuildSessionReservations() {
+        return statsCounterRepository.replaceAll(CounterKind.SESSION_RESERVATIONS, reservationRepository.countReservationsBySession(null, null));
+    }
+
+    private void increment(CounterKind kind, String key, long delta) {
+        if (key == null || delta == 0) {
+            return;
+        }
+        try {
+            statsCounterRepository.increment(kind, key, delta);
+        } catch (DataAccessException e) {
+            // La escritura principal ya se hizo; la reconstrucción corrige el contador
+            log.warn("No fue posible actualizar el contador {}: {}", StatsCounter.idOf(kind, key), e.getMessage());
+        }
+    }
+
+    private Map<String, Integer> read(CounterKind kind, Map<String, Integer> target) {
+        for (StatsCounter counter : statsCounterRepository.findByKind(kind)) {
+            if (counter.getValue() > 0) {
+                target.put(counter.getKey(), (int) counter.getValue());
+            }
+        }
+        return target;
+    }
+
+    private String coachOf(GymSession gymSession) {
+        return gymSession.getCoachId() == null ? null : gymSession.getCoachId().getId();
+    }
+
+    private String dayOf(LocalDate date) {
+        return date == null ? null : date.toString();
+    }
+
+    private long present(List<Boolean> attendance) {
+        return attendance == null ? 0 : attendance.stream().filter(Boolean.TRUE::equals).count();
+    }
+}
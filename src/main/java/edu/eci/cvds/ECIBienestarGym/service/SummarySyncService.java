@@ -0,0 +1,157 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the user, coach and session summaries embedded in reservations and gym sessions
+ * in line with their source documents. Every save of a User or GymSession schedules a
+ * background update that only touches documents whose embedded copy is stale.
+ */
+@Service
+public class SummarySyncService extends AbstractMongoEventListener<Object> {
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskExecutor taskExecutor;
+
+    public SummarySyncService(MongoTemplate mongoTemplate, @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof User user) {
+            taskExecutor.execute(() -> syncUser(user));
+        } else if (event.getSource() instanceof GymSession gymSession) {
+            gymSessionChanged(gymSession);
+        }
+    }
+
+    /**
+     * Schedules the slot sync for a session written without save(), e.g. through findAndModify,
+     * which publishes no AfterSaveEvent.
+     */
+    public void gymSessionChanged(GymSession gymSession) {
+        taskExecutor.execute(() -> syncGymSession(gymSession));
+    }
+
+    public void syncUser(User user) {
+        UserSummary summary = new UserSummary(user.getId(), user.getName(), user.getEmail());
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("userId._id").is(user.getId()).and("userId").ne(summary)),
+                new Update().set("userId", summary), Reservation.class);
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("coachId._id").is(user.getId()).and("coachId").ne(summary)),
+                new Update().set("coachId", summary), GymSession.class);
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("users._id").is(user.getId())),
+                new Update().set("users.$[u]", summary).filterArray(Criteria.where("u._id").is(storedId(user.getId()))), GymSession.class);
+    }
+
+    public void syncGymSession(GymSession gymSession) {
+        SessionSlot slot = SessionSlot.of(gymSession);
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("gymSessionId._id").is(gymSession.getId()).and("gymSessionId").ne(slot)),
+                new Update().set("gymSessionId", slot), Reservation.class);
+    }
+
+    /**
+     * One-time migration of documents written while these fields were still @DBRef
+     * (and GymSession.users held whole User documents) to the embedded summaries.
+     *
+     * @return the number of documents rewritten.
+     */
+    public long backfillLegacyReferences() {
+        long migrated = backfill("gymSessions", "coachId", "users", this::userSummary);
+        migrated += backfill("reservations", "userId", "users", this::userSummary);
+        migrated += backfill("reservations", "gymSessionId", "gymSessions", this::sessionSlot);
+        migrated += mongoTemplate.getCollection("gymSessions").updateMany(
+                Filters.exists("users.password"),
+                List.of(new Document("$set", new Document("users", new Document("$map", new Document()
+                        .append("input", "$users")
+                        .append("as", "u")
+                        .append("in", new Document("_id", "$$u._id").append("name", "$$u.name").append("email", "$$u.email")))))))
+                .getModifiedCount();
+        return migrated;
+    }
+
+    private long backfill(String collection, String field, String source, Function<Document, Document> summary) {
+        MongoCollection<Document> target = mongoTemplate.getCollection(collection);
+        long migrated = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (Document legacy : target.find(Filters.exists(field + ".$id")).projection(Projections.include(field)).batchSize(BATCH_SIZE)) {
+            batch.add(legacy);
+            if (batch.size() == BATCH_SIZE) {
+                migrated += rewrite(target, field, source, summary, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += rewrite(target, field, source, summary, batch);
+        }
+        return migrated;
+    }
+
+    private long rewrite(MongoCollection<Document> target, String field, String source,
+                         Function<Document, Document> summary, List<Document> batch) {
+        List<Object> ids = batch.stream().map(legacy -> legacy.get(field, DBRef.class).getId()).distinct().toList();
+        Map<Object, Document> referenced = new HashMap<>();
+        mongoTemplate.getCollection(source).find(Filters.in("_id", ids)).forEach(document -> referenced.put(document.get("_id"), document));
+
+        List<WriteModel<Document>> updates = new ArrayList<>(batch.size());
+        for (Document legacy : batch) {
+            Object id = legacy.get(field, DBRef.class).getId();
+            Document value = referenced.containsKey(id) ? summary.apply(referenced.get(id)) : new Document("_id", id);
+            updates.add(new UpdateOneModel<>(Filters.eq("_id", legacy.get("_id")), Updates.set(field, value)));
+        }
+        return target.bulkWrite(updates).getModifiedCount();
+    }
+
+    /** Array filters are not run through the mapper, so the id is stored the way the converter writes it. */
+    private Object storedId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private Document userSummary(Document user) {
+        return new Document("_id", user.get("_id"))
+                .append("name", user.get("name"))
+                .append("email", user.get("email"));
+    }
+
+    private Document sessionSlot(Document gymSession) {
+        return new Document("_id", gymSession.get("_id"))
+                .append("coachId", gymSession.get("coachId"))
+                .append("date", gymSession.get("date"))
+                .append("startTime", gymSession.get("startTime"))
+                .append("endTime", gymSession.get("endTime"));
+    }
+}
@@ -0,0 +1,50 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of the users looked up by email during authentication. Writes through
+ * UserService invalidate the email they touch; the TTL bounds how long a change made
+ * elsewhere (another instance, a manual fix in the database) can go unseen. Unknown emails
+ * are not cached, so a user created later is found on the next attempt.
+ */
+@Component
+public class UserPrincipalCache {
+    private final LoadingCache<String, User> principals;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${gym.users.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${gym.users.principal-cache.ttl:5m}") Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(email -> userRepository.findByEmail(email).orElse(null));
+    }
+
+    /** The user with that email, as a copy so callers can not alter the cached one. */
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(principals.get(email)).map(UserPrincipalCache::copyOf);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            principals.invalidate(email);
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getRole(),
+                user.getGender(), user.isRegistered(), user.getRegistrationDate());
+    }
+}
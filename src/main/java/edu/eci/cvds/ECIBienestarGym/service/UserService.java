@@ -3,26 +3,48 @@ package edu.eci.cvds.ECIBienestarGym.service;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.projection.UserView;
 import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    public List<UserView> getUserSummaries() {
+        return userRepository.findAllViewByOrderByIdAsc();
+    }
+
+    public CursorPage<UserView> getUsersPage(String after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<UserView> fetched = after == null
+                ? userRepository.findAllViewByOrderByIdAsc(Limit.of(pageSize + 1))
+                : userRepository.findViewByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, UserView::getId);
+    }
+
+    public Stream<UserView> streamAllUsers() {
+        return userRepository.streamAllViewByOrderByIdAsc();
+    }
+
     public List<User> getUsersByName(String name) {
         return userRepository.findByName(name);
     }
@@ -61,7 +83,14 @@ public class UserService {
         user.setRegistrationDate(userDTO.getRegistrationDate());
         user.setRegistered(userDTO.isRegistered());
 
-        return userRepository.save(user);
+        // Con un id existente el save reemplaza al usuario; su correo anterior tampoco debe seguir autenticando
+        Optional<String> previousEmail = userDTO.getId() == null
+                ? Optional.empty()
+                : userRepository.findById(userDTO.getId()).map(User::getEmail);
+        User saved = userRepository.save(user);
+        previousEmail.filter(email -> !email.equals(user.getEmail())).ifPresent(userPrincipalCache::invalidate);
+        userPrincipalCache.invalidate(user.getEmail());
+        return saved;
     }
 
     public User updateUser(String id, UserDTO userDTO) throws GYMException {
@@ -70,7 +99,9 @@ public class UserService {
         user.setRegistered(userDTO.isRegistered());
         user.setRegistrationDate(LocalDate.now());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userPrincipalCache.invalidate(user.getEmail());
+        return saved;
     }
 
     public void deleteUser(String id) throws GYMException {
@@ -78,10 +109,11 @@ public class UserService {
             throw new GYMException(GYMException.USER_NOT_NULL);
         }
 
-        userRepository.findById(id)
+        User user = userRepository.findById(id)
             .orElseThrow(() -> new GYMException(GYMException.USER_NOT_FOUND));
 
         userRepository.deleteById(id);
+        userPrincipalCache.invalidate(user.getEmail());
     }
 }
 
@@ -0,0 +1,62 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eci.cvds.ECIBienestarGym.dto.PhysicalProgressDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link stats} bean injected across the application. Responses of getStatsByCoach are
+ * cached by the input map (its hash plus equality), so repeated statistics requests with the
+ * same counts never reach the remote service. Answers from {@link StatsFallback} are not cached.
+ */
+@Primary
+@Component
+public class CachingStatsClient implements stats {
+    private final stats remote;
+    private final Cache<Map<String, Integer>, Map<String, Object>> statsByCoach;
+
+    public CachingStatsClient(@Qualifier("remoteStats") stats remote,
+                              @Value("${gym.stats.cache.max-size:256}") long maxSize,
+                              @Value("${gym.stats.cache.ttl:5m}") Duration ttl) {
+        this.remote = remote;
+        this.statsByCoach = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Map<String, Object> getStatsByCoach(Map<String, Integer> sessionsByCoach) {
+        Map<String, Integer> key = Map.copyOf(sessionsByCoach);
+        Map<String, Object> cached = statsByCoach.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Object> stats = remote.getStatsByCoach(key);
+        // Lo calculado localmente por el circuit breaker no se guarda, así se vuelve a consultar al servicio
+        if (stats != null && !StatsFallback.isLocal(stats)) {
+            statsByCoach.put(key, stats);
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<String, Integer> getStudentsBySession(List<ReservationDTO> reservations) {
+        return remote.getStudentsBySession(reservations);
+    }
+
+    @Override
+    public List<PhysicalProgressDTO> getPhysicalProgressByUser(String userId) {
+        return remote.getPhysicalProgressByUser(userId);
+    }
+}
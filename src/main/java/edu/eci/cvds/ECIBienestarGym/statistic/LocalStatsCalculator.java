@@ -0,0 +1,39 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process version of the aggregates served by the stats service. It backs both the
+ * circuit breaker fallback and the local stand-in used to test without the remote host.
+ */
+@Component
+public class LocalStatsCalculator {
+
+    public Map<String, Object> statsByCoach(Map<String, Integer> sessionsByCoach) {
+        int total = sessionsByCoach.values().stream().mapToInt(Integer::intValue).sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sesionesPorCoach", new TreeMap<>(sessionsByCoach));
+        stats.put("totalSesiones", total);
+        stats.put("totalCoaches", sessionsByCoach.size());
+        stats.put("promedioPorCoach", sessionsByCoach.isEmpty() ? 0.0 : (double) total / sessionsByCoach.size());
+        sessionsByCoach.entrySet().stream()
+                .max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .ifPresent(top -> stats.put("coachConMasSesiones", top.getKey()));
+        return stats;
+    }
+
+    public Map<String, Integer> studentsBySession(List<ReservationDTO> reservations) {
+        return reservations.stream()
+                .map(reservation -> reservation.getGymSessionId() == null ? null : reservation.getGymSessionId().getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(id -> id, TreeMap::new, Collectors.reducing(0, id -> 1, Integer::sum)));
+    }
+}
@@ -0,0 +1,60 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import edu.eci.cvds.ECIBienestarGym.dto.PhysicalProgressDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for the stats service, active with the {@code local-stats} profile. It serves
+ * the same routes as the remote host, with an optional artificial latency, so the Feign path
+ * (timeouts, retries, circuit breaker, cache) can be load-tested offline.
+ */
+@Hidden
+@Profile("local-stats")
+@RestController
+@RequestMapping("/api/local-stats")
+public class LocalStatsController {
+    private final LocalStatsCalculator calculator;
+    private final Duration latency;
+
+    public LocalStatsController(LocalStatsCalculator calculator, @Value("${gym.stats.local.latency:0ms}") Duration latency) {
+        this.calculator = calculator;
+        this.latency = latency;
+    }
+
+    @PostMapping("/sessions/by-coach")
+    public Map<String, Object> getStatsByCoach(@RequestBody Map<String, Integer> sessionsByCoach) throws InterruptedException {
+        simulateLatency();
+        return calculator.statsByCoach(sessionsByCoach);
+    }
+
+    @PostMapping("/students/by-session")
+    public Map<String, Integer> getStudentsBySession(@RequestBody List<ReservationDTO> reservations) throws InterruptedException {
+        simulateLatency();
+        return calculator.studentsBySession(reservations);
+    }
+
+    @GetMapping("/trainer/physical-progress/{userId}")
+    public List<PhysicalProgressDTO> getPhysicalProgressByUser(@PathVariable("userId") String userId) throws InterruptedException {
+        simulateLatency();
+        return List.of();
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+    }
+}
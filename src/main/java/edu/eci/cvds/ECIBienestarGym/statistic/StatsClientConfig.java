@@ -0,0 +1,49 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import feign.RetryableException;
+import feign.Retryer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+
+/**
+ * Feign configuration applied only to the stats client. Not annotated with @Configuration
+ * on purpose, so it does not leak into other Feign clients.
+ */
+public class StatsClientConfig {
+
+    /**
+     * Retries only requests that failed before reaching the service. Feign wraps every
+     * IOException, timeouts included, in a RetryableException; a read timeout is not retried,
+     * so the worst case (a refused connection, the backoff, then connect and read timeouts)
+     * stays under the time limiter.
+     */
+    @Bean
+    public Retryer statsRetryer(@Value("${gym.stats.max-attempts:2}") int maxAttempts) {
+        return new ConnectionRetryer(new Retryer.Default(100, 500, maxAttempts));
+    }
+
+    static final class ConnectionRetryer implements Retryer {
+        private final Retryer delegate;
+
+        ConnectionRetryer(Retryer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void continueOrPropagate(RetryableException e) {
+            // SocketTimeoutException (conexión o lectura) no se reintenta: el servicio ya está lento
+            if (!(e.getCause() instanceof ConnectException) && !(e.getCause() instanceof UnknownHostException)) {
+                throw e;
+            }
+            delegate.continueOrPropagate(e);
+        }
+
+        @Override
+        public Retryer clone() {
+            return new ConnectionRetryer(delegate.clone());
+        }
+    }
+}
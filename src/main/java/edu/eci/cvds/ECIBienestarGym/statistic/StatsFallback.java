@@ -0,0 +1,56 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import edu.eci.cvds.ECIBienestarGym.dto.PhysicalProgressDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers for the stats service while its circuit is open or a call times out, computing
+ * the aggregates locally instead of failing the request.
+ */
+@Component
+public class StatsFallback implements stats {
+    private static final Logger log = LoggerFactory.getLogger(StatsFallback.class);
+
+    private final LocalStatsCalculator calculator;
+
+    public StatsFallback(LocalStatsCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    @Override
+    public Map<String, Object> getStatsByCoach(Map<String, Integer> sessionsByCoach) {
+        log.warn("Servicio de estadísticas no disponible, se calculan localmente");
+        return new LocalStats(calculator.statsByCoach(sessionsByCoach));
+    }
+
+    @Override
+    public Map<String, Integer> getStudentsBySession(List<ReservationDTO> reservations) {
+        log.warn("Servicio de estadísticas no disponible, se calculan localmente");
+        return calculator.studentsBySession(reservations);
+    }
+
+    @Override
+    public List<PhysicalProgressDTO> getPhysicalProgressByUser(String userId) {
+        // El progreso físico no es un agregado; sin el servicio remoto no hay nada que devolver
+        return List.of();
+    }
+
+    /** Whether a stats map was computed here instead of answered by the remote service. */
+    static boolean isLocal(Map<String, Object> stats) {
+        return stats instanceof LocalStats;
+    }
+
+    /** Marks fallback answers so they are never cached in place of a remote response. */
+    private static final class LocalStats extends LinkedHashMap<String, Object> {
+        private LocalStats(Map<String, Object> stats) {
+            super(stats);
+        }
+    }
+}
@@ -11,7 +11,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import java.util.List;
 import java.util.Map;
 
-@FeignClient(name = "estadisticas-service", url = "https://netherita-gymnasium-service-d8hvgjameybudsh3.canadacentral-01.azurewebsites.net")
+@FeignClient(name = "estadisticas-service",
+        url = "${gym.stats.url:https://netherita-gymnasium-service-d8hvgjameybudsh3.canadacentral-01.azurewebsites.net}",
+        qualifiers = "remoteStats",
+        primary = false,
+        configuration = StatsClientConfig.class,
+        fallback = StatsFallback.class)
 public interface stats {
     @PostMapping("/sessions/by-coach")
     Map<String, Object> getStatsByCoach(@RequestBody Map<String, Integer> sessionsByCoach);
@@ -2,55 +2,118 @@ package edu.eci.cvds.ECIBienestarGym.util;
 
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Verifies bearer tokens. The signing key and parser are built once, and tokens that passed
+ * verification are cached by their SHA-256 until their own expiration, so repeated requests
+ * of the same session skip the HMAC check. Hits and misses are published as the
+ * "jwt.verified" cache metrics.
+ */
 @Service
 public class JwtUtil {
 
     private String secretKey = "EPRiC0Bt0/2KcBRRWqVKhEWzModEtI6Q4K05RWuLgVQV4Xw92Ulk9kHPmQVjiRW5c9XtLNm4lgNoridiLgvZpg==";
 
-    public String extractUserEmail(String token) {
-        return extractClaims(token, Claims::getSubject);
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /** Subject and role of a token whose signature and expiration were already checked. */
+    public record VerifiedToken(String email, Role role, Date expiration) {
     }
 
-    public Role extractRole(String token) {
-        List<String> roles = extractClaims(token, claims -> claims.get("roles", List.class));
-        String role = roles.get(0);
-        return Role.valueOf(role);
+    public JwtUtil(@Value("${gym.jwt.cache.max-size:10000}") long cacheMaxSize, MeterRegistry meterRegistry) {
+        this.parser = Jwts.parserBuilder().setSigningKey(getKey()).build();
+        this.verifiedTokens = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiration())
+                .recordStats()
+                .build(), "jwt.verified");
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Parses and verifies the token at most once while it is cached.
+     *
+     * @return the verified token, or empty when the signature, the claims or the expiration are not valid.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String hash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null) {
+            return cached.expiration().after(new Date()) ? Optional.of(cached) : Optional.empty();
+        }
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            List<?> roles = claims.get("roles", List.class);
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), Role.valueOf(roles.get(0).toString()), claims.getExpiration());
+            if (!verified.expiration().after(new Date())) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(hash, verified);
+            return Optional.of(verified);
         } catch (Exception e) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getKey()).build().parseClaimsJws(token).getBody();
+    public String extractUserEmail(String token) {
+        return verify(token).map(VerifiedToken::email).orElse(null);
     }
 
-    private <T> T extractClaims(String token, Function<Claims, T> claimsResolver) {
-        return claimsResolver.apply(extractAllClaims(token));
+    public Role extractRole(String token) {
+        return verify(token).map(VerifiedToken::role).orElse(null);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaims(token, Claims::getExpiration);
+    public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /** Evicts each cached token when its own exp claim is reached. */
+    private static class UntilTokenExpiration implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiration().getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private SecretKey getKey() {
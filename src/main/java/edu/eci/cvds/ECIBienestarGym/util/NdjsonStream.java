@@ -0,0 +1,45 @@
+package edu.eci.cvds.ECIBienestarGym.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository stream as newline-delimited JSON. The Mongo cursor is opened when the
+ * response starts and closed when it ends, so documents are never held in heap as a whole.
+ * Documents are written with the application's ObjectMapper, like any other response body.
+ */
+@Component
+public class NdjsonStream {
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int FLUSH_EVERY = 100;
+    private final ObjectWriter writer;
+
+    public NdjsonStream(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> of(Supplier<Stream<T>> source) {
+        StreamingResponseBody body = output -> {
+            try (Stream<T> documents = source.get()) {
+                int written = 0;
+                for (T document : (Iterable<T>) documents::iterator) {
+                    writer.writeValue(output, document);
+                    output.write('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        output.flush();
+                    }
+                }
+            }
+            output.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
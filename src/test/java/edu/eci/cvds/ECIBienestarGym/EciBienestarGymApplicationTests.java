@@ -3,7 +3,7 @@ package edu.eci.cvds.ECIBienestarGym;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "gym.mongo.schema-init.enabled=false")
 class EciBienestarGymApplicationTests {
 
     @Test
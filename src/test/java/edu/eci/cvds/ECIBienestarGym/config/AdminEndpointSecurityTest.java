@@ -0,0 +1,89 @@
+package edu.eci.cvds.ECIBienestarGym.config;
+
+import edu.eci.cvds.ECIBienestarGym.service.ProgressSummaryService;
+import edu.eci.cvds.ECIBienestarGym.service.StatsCounterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.mongo.schema-init.enabled=false")
+@AutoConfigureMockMvc
+public class AdminEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StatsCounterService statsCounterService;
+
+    @MockitoBean
+    private ProgressSummaryService progressSummaryService;
+
+    @Test
+    @WithMockUser(roles = "ADMINISTRATOR")
+    void shouldLetAdministratorsRebuildStatistics() throws Exception {
+        when(statsCounterService.rebuild()).thenReturn(Map.of());
+
+        mockMvc.perform(post("/api/admin/statistics/rebuild"))
+                .andExpect(status().isOk());
+
+        verify(statsCounterService).rebuild();
+    }
+
+    @Test
+    void shouldRejectStatisticsRebuildWithoutToken() throws Exception {
+        mockMvc.perform(post("/api/admin/statistics/rebuild"))
+                .andExpect(status().is4xxClientError());
+
+        verify(statsCounterService, never()).rebuild();
+    }
+
+    @Test
+    @WithMockUser(roles = "TRAINER")
+    void shouldRejectStatisticsRebuildFromOtherRoles() throws Exception {
+        mockMvc.perform(post("/api/admin/statistics/rebuild"))
+                .andExpect(status().isForbidden());
+
+        verify(statsCounterService, never()).rebuild();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMINISTRATOR")
+    void shouldLetAdministratorsRebuildProgressSummaries() throws Exception {
+        when(progressSummaryService.rebuild()).thenReturn(3);
+
+        mockMvc.perform(post("/api/admin/progress-summaries/rebuild"))
+                .andExpect(status().isOk());
+
+        verify(progressSummaryService).rebuild();
+    }
+
+    @Test
+    void shouldRejectProgressSummaryRebuildWithoutToken() throws Exception {
+        mockMvc.perform(post("/api/admin/progress-summaries/rebuild"))
+                .andExpect(status().is4xxClientError());
+
+        verify(progressSummaryService, never()).rebuild();
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void shouldRejectProgressSummaryRebuildFromOtherRoles() throws Exception {
+        mockMvc.perform(post("/api/admin/progress-summaries/rebuild"))
+                .andExpect(status().isForbidden());
+
+        verify(progressSummaryService, never()).rebuild();
+    }
+}
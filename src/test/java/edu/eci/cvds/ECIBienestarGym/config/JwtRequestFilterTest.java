@@ -1,6 +1,8 @@
 package edu.eci.cvds.ECIBienestarGym.config;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
 
 import static org.mockito.Mockito.verify;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -23,7 +25,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
 import edu.eci.cvds.ECIBienestarGym.service.CustomUserDetailsService;
+import edu.eci.cvds.ECIBienestarGym.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,5 +36,58 @@ import jakarta.servlet.http.HttpServletResponse;
 @ExtendWith(MockitoExtension.class)
 public class JwtRequestFilterTest {
 
+    @Mock
+    private JwtUtil jwtUtil;
 
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private JwtRequestFilter jwtRequestFilter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateWithASingleVerification() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify("token")).thenReturn(Optional.of(new JwtUtil.VerifiedToken("ana@mail.com", Role.TRAINER, new Date())));
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("ana@mail.com", SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertEquals("ROLE_TRAINER", SecurityContextHolder.getContext().getAuthentication().getAuthorities().iterator().next().getAuthority());
+        verify(jwtUtil, times(1)).verify("token");
+        verifyNoMoreInteractions(jwtUtil);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedWhenTokenIsInvalid() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify("token")).thenReturn(Optional.empty());
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldSkipVerificationWithoutBearerHeader() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verifyNoInteractions(jwtUtil);
+        verify(filterChain).doFilter(request, response);
+    }
 }
@@ -0,0 +1,51 @@
+package edu.eci.cvds.ECIBienestarGym.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gym.mongo.schema-init.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMINISTRATOR")
+    void shouldExposePrometheusMetricsToAdministrators() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("gym_reservations_roll_forward_seconds_bucket")))
+                .andExpect(content().string(containsString("application=\"ECIBienestarGym\"")));
+    }
+
+    @Test
+    void shouldRejectPrometheusScrapeWithoutToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void shouldRejectPrometheusScrapeFromOtherRoles() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldKeepOtherActuatorEndpointsHidden() throws Exception {
+        mockMvc.perform(get("/actuator/env"))
+                .andExpect(status().is4xxClientError());
+    }
+}
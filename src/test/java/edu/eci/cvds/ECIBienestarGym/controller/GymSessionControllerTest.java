@@ -5,20 +5,29 @@ import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
 import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
 import edu.eci.cvds.ECIBienestarGym.service.GymSessionService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class GymSessionControllerTest {
@@ -26,6 +35,9 @@ public class GymSessionControllerTest {
     @Mock
     private GymSessionService gymSessionService;
 
+    @Spy
+    private NdjsonStream ndjsonStream = new NdjsonStream(Jackson2ObjectMapperBuilder.json().build());
+
     @InjectMocks
     private GymSessionController gymSessionController;
 
@@ -196,4 +208,38 @@ public class GymSessionControllerTest {
         assertEquals(200, response.getStatusCodeValue());
         verify(gymSessionService, times(1)).deleteGymSession(sessionId);
     }
+
+    @Test
+    void shouldReturnPageWithCursorOfLastGymSession() {
+        GymSession first = new GymSession();
+        first.setId("s1");
+        GymSession second = new GymSession();
+        second.setId("s2");
+        when(gymSessionService.getGymSessionsPage(null, 2)).thenReturn(new CursorPage<>(List.of(first, second), "s2"));
+
+        ResponseEntity<ApiResponse<CursorPage<GymSession>>> response = gymSessionController.getGymSessionsPage(null, 2);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getData().getItems().size());
+        assertEquals("s2", response.getBody().getData().getNextCursor());
+    }
+
+    @Test
+    void shouldStreamGymSessionAsNdjson() throws Exception {
+        GymSession first = new GymSession();
+        first.setId("s1");
+        GymSession second = new GymSession();
+        second.setId("s2");
+        when(gymSessionService.streamAllGymSessions()).thenReturn(Stream.of(first, second));
+
+        ResponseEntity<StreamingResponseBody> response = gymSessionController.streamAllGymSessions();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"s1\""));
+        assertTrue(lines[1].contains("\"id\":\"s2\""));
+    }
 }
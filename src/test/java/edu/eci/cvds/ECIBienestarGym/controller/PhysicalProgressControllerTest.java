@@ -6,20 +6,29 @@ import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
 import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.service.PhysicalProgressService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class PhysicalProgressControllerTest {
@@ -27,6 +36,9 @@ public class PhysicalProgressControllerTest {
     @Mock
     private PhysicalProgressService physicalProgressService;
 
+    @Spy
+    private NdjsonStream ndjsonStream = new NdjsonStream(Jackson2ObjectMapperBuilder.json().build());
+
     @InjectMocks
     private PhysicalProgressController physicalProgressController;
 
@@ -151,4 +163,38 @@ public class PhysicalProgressControllerTest {
         assertEquals(mockProgress, response.getBody().getData());
         verify(physicalProgressService, times(1)).createPhysicalProgress(progressDTO);
     }
+
+    @Test
+    void shouldReturnPageWithCursorOfLastPhysicalProgress() throws GYMException {
+        PhysicalProgress first = new PhysicalProgress();
+        first.setId("p1");
+        PhysicalProgress second = new PhysicalProgress();
+        second.setId("p2");
+        when(physicalProgressService.getPhysicalProgressPage(null, 2)).thenReturn(new CursorPage<>(List.of(first, second), "2025-05-12_p2"));
+
+        ResponseEntity<ApiResponse<CursorPage<PhysicalProgress>>> response = physicalProgressController.getPhysicalProgressPage(null, 2);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getData().getItems().size());
+        assertEquals("2025-05-12_p2", response.getBody().getData().getNextCursor());
+    }
+
+    @Test
+    void shouldStreamPhysicalProgressAsNdjson() throws Exception {
+        PhysicalProgress first = new PhysicalProgress();
+        first.setId("p1");
+        PhysicalProgress second = new PhysicalProgress();
+        second.setId("p2");
+        when(physicalProgressService.streamAllPhysicalProgress()).thenReturn(Stream.of(first, second));
+
+        ResponseEntity<StreamingResponseBody> response = physicalProgressController.streamAllPhysicalProgress();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"p1\""));
+        assertTrue(lines[1].contains("\"id\":\"p2\""));
+    }
 }
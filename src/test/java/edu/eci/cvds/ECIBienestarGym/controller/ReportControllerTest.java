@@ -6,18 +6,26 @@ import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
 import edu.eci.cvds.ECIBienestarGym.model.Report;
 import edu.eci.cvds.ECIBienestarGym.service.ReportService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -27,6 +35,9 @@ public class ReportControllerTest {
     @Mock
     private ReportService reportService;
 
+    @Spy
+    private NdjsonStream ndjsonStream = new NdjsonStream(Jackson2ObjectMapperBuilder.json().build());
+
     @InjectMocks
     private ReportController reportController;
 
@@ -47,6 +58,25 @@ public class ReportControllerTest {
         verify(reportService, times(1)).getAllReports();
     }
 
+    @Test
+    void shouldStreamReportsAsNdjson() throws Exception {
+        Report first = new Report();
+        first.setId("r1");
+        Report second = new Report();
+        second.setId("r2");
+        when(reportService.streamAllReports()).thenReturn(Stream.of(first, second));
+
+        ResponseEntity<StreamingResponseBody> response = reportController.streamAllReports();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"r1\""));
+        assertTrue(lines[1].contains("\"id\":\"r2\""));
+    }
+
     @Test
     void shouldReturnReportByIdWhenExists() throws GYMException {
         String id = "report123";
@@ -6,20 +6,30 @@ import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.Reservation;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
 import edu.eci.cvds.ECIBienestarGym.service.ReservationService;
 import edu.eci.cvds.ECIBienestarGym.enums.Status;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class ReservationControllerTest {
@@ -27,6 +37,9 @@ public class ReservationControllerTest {
     @Mock
     private ReservationService reservationService;
 
+    @Spy
+    private NdjsonStream ndjsonStream = new NdjsonStream(Jackson2ObjectMapperBuilder.json().build());
+
     @InjectMocks
     private ReservationController reservationController;
 
@@ -88,7 +101,7 @@ public class ReservationControllerTest {
     }
 
     @Test
-    void shouldCreateReservationWhenCreateReservation() {
+    void shouldCreateReservationWhenCreateReservation() throws GYMException {
         ReservationDTO reservationDTO = new ReservationDTO();
         Reservation mockReservation = new Reservation();
         when(reservationService.createReservation(reservationDTO)).thenReturn(mockReservation);
@@ -165,4 +178,93 @@ public class ReservationControllerTest {
         assertEquals("Reservas encontradas por estado", response.getBody().getMessage());
         verify(reservationService, times(1)).getReservationsByState(status);
     }
+
+    @Test
+    void shouldDeleteReservationSeriesWhenDeleteReservationSeries() throws GYMException {
+        String seriesId = "series123";
+        when(reservationService.deleteReservationSeries(seriesId)).thenReturn(6L);
+
+        ResponseEntity<ApiResponse<Void>> response = reservationController.deleteReservationSeries(seriesId);
+
+        assertEquals(204, response.getStatusCodeValue());
+        verify(reservationService, times(1)).deleteReservationSeries(seriesId);
+    }
+
+    @Test
+    void shouldRescheduleReservationSeriesWhenRescheduleReservationSeries() throws GYMException {
+        String seriesId = "series123";
+        when(reservationService.rescheduleReservationSeries(seriesId, 14)).thenReturn(6L);
+
+        ResponseEntity<ApiResponse<Long>> response = reservationController.rescheduleReservationSeries(seriesId, 14);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(6L, response.getBody().getData());
+        verify(reservationService, times(1)).rescheduleReservationSeries(seriesId, 14);
+    }
+
+    @Test
+    void shouldAcceptWaitlistEntryWithItsPosition() throws GYMException {
+        ReservationDTO reservationDTO = new ReservationDTO();
+        WaitlistEntry entry = new WaitlistEntry();
+        when(reservationService.joinWaitlist(reservationDTO)).thenReturn(entry);
+        when(reservationService.getWaitlistPosition(entry)).thenReturn(3L);
+
+        ResponseEntity<ApiResponse<WaitlistEntry>> response = reservationController.joinWaitlist(reservationDTO);
+
+        assertEquals(202, response.getStatusCode().value());
+        assertEquals(entry, response.getBody().getData());
+        assertEquals("Agregado a la lista de espera en la posición 3", response.getBody().getMessage());
+    }
+
+    @Test
+    void shouldReturnWaitlistOfSession() {
+        when(reservationService.getWaitlist("session123")).thenReturn(List.of(new WaitlistEntry(), new WaitlistEntry()));
+
+        ResponseEntity<ApiResponse<List<WaitlistEntry>>> response = reservationController.getWaitlist("session123");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, response.getBody().getData().size());
+    }
+
+    @Test
+    void shouldLeaveWaitlist() throws GYMException {
+        ResponseEntity<ApiResponse<Void>> response = reservationController.leaveWaitlist("wait123");
+
+        assertEquals(204, response.getStatusCode().value());
+        verify(reservationService, times(1)).leaveWaitlist("wait123");
+    }
+
+    @Test
+    void shouldReturnPageWithCursorOfLastReservation() {
+        Reservation first = new Reservation();
+        first.setId("r1");
+        Reservation second = new Reservation();
+        second.setId("r2");
+        when(reservationService.getReservationsPage(null, 2)).thenReturn(new CursorPage<>(List.of(first, second), "r2"));
+
+        ResponseEntity<ApiResponse<CursorPage<Reservation>>> response = reservationController.getReservationsPage(null, 2);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getData().getItems().size());
+        assertEquals("r2", response.getBody().getData().getNextCursor());
+    }
+
+    @Test
+    void shouldStreamReservationAsNdjson() throws Exception {
+        Reservation first = new Reservation();
+        first.setId("r1");
+        Reservation second = new Reservation();
+        second.setId("r2");
+        when(reservationService.streamAllReservations()).thenReturn(Stream.of(first, second));
+
+        ResponseEntity<StreamingResponseBody> response = reservationController.streamAllReservations();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"r1\""));
+        assertTrue(lines[1].contains("\"id\":\"r2\""));
+    }
 }
@@ -1,9 +1,12 @@
 package edu.eci.cvds.ECIBienestarGym.controller;
 
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
 import edu.eci.cvds.ECIBienestarGym.model.*;
 import edu.eci.cvds.ECIBienestarGym.service.GymSessionService;
 import edu.eci.cvds.ECIBienestarGym.service.PhysicalProgressService;
+import edu.eci.cvds.ECIBienestarGym.service.ProgressSummaryService;
 import edu.eci.cvds.ECIBienestarGym.service.ReservationService;
+import edu.eci.cvds.ECIBienestarGym.service.StatsCounterService;
 import edu.eci.cvds.ECIBienestarGym.statistic.stats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +22,8 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class StatisticsControllerTest {
@@ -37,6 +42,12 @@ public class StatisticsControllerTest {
     @Mock
     private stats estadisticasClient;
 
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Mock
+    private ProgressSummaryService progressSummaryService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -44,39 +55,63 @@ public class StatisticsControllerTest {
 
     @Test
     void testGetSessionStatisticsByTrainer() {
-        User coach = new User();
-        coach.setId("coach1");
-
-        GymSession session = new GymSession();
-        session.setCoachId(coach);
-
-        when(gymSessionService.getAllGymSessions()).thenReturn(List.of(session));
+        when(statsCounterService.sessionsByCoach()).thenReturn(Map.of("coach1", 1));
         when(estadisticasClient.getStatsByCoach(anyMap())).thenReturn(Map.of("coach1", 1));
 
-        ResponseEntity<?> response = controller.getSessionStatisticsByTrainer();
+        ResponseEntity<?> response = controller.getSessionStatisticsByTrainer(null, null);
         ApiResponse<?> apiResponse = (ApiResponse<?>) response.getBody();
 
         assertTrue(apiResponse.isSuccess());
         assertEquals("Estadísticas obtenidas correctamente", apiResponse.getMessage());
         assertNotNull(apiResponse.getData());
+        verify(estadisticasClient).getStatsByCoach(Map.of("coach1", 1));
+        verify(gymSessionService, never()).getAllGymSessions();
+        verify(gymSessionService, never()).countSessionsByCoach(any(), any());
     }
 
     @Test
-    void testGetStudentsBySession() {
-        GymSession session = new GymSession();
-        session.setId("session1");
+    void testGetSessionStatisticsByTrainerWithinWindow() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        when(gymSessionService.countSessionsByCoach(from, to)).thenReturn(Map.of("coach1", 3));
+        when(estadisticasClient.getStatsByCoach(anyMap())).thenReturn(Map.of("coach1", 3));
+
+        controller.getSessionStatisticsByTrainer(from, to);
 
-        Reservation res = new Reservation();
-        res.setGymSessionId(session);
+        verify(gymSessionService).countSessionsByCoach(from, to);
+        verify(statsCounterService, never()).sessionsByCoach();
+    }
 
-        when(reservationService.getAllReservations()).thenReturn(List.of(res));
+    @Test
+    void testGetStudentsBySession() {
+        when(statsCounterService.reservationsBySession()).thenReturn(Map.of("session1", 2));
 
-        ResponseEntity<?> response = controller.getStudentsBySession();
+        ResponseEntity<?> response = controller.getStudentsBySession(null, null);
         ApiResponse<?> apiResponse = (ApiResponse<?>) response.getBody();
 
         assertTrue(apiResponse.isSuccess());
         assertEquals("Conteo por sesión generado", apiResponse.getMessage());
-        assertNotNull(apiResponse.getData());
+        assertEquals(Map.of("session1", 2), apiResponse.getData());
+        verify(reservationService, never()).getAllReservations();
+    }
+
+    @Test
+    void testGetAttendanceByDay() {
+        when(statsCounterService.attendanceByDay()).thenReturn(Map.of("2025-05-20", 12));
+
+        ResponseEntity<ApiResponse<Map<String, Integer>>> response = controller.getAttendanceByDay();
+
+        assertEquals(Map.of("2025-05-20", 12), response.getBody().getData());
+    }
+
+    @Test
+    void testRebuildStatistics() {
+        when(statsCounterService.rebuild()).thenReturn(Map.of(CounterKind.COACH_SESSIONS, 2));
+
+        ResponseEntity<ApiResponse<Map<CounterKind, Integer>>> response = controller.rebuildStatistics();
+
+        assertTrue(response.getBody().isSuccess());
+        verify(statsCounterService).rebuild();
     }
 
     @Test
@@ -6,6 +6,9 @@ import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.ApiResponse;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.service.UserService;
+import edu.eci.cvds.ECIBienestarGym.util.NdjsonStream;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
+import edu.eci.cvds.ECIBienestarGym.projection.UserView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,13 +16,21 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.*;
 
 public class UserControllerTest {
@@ -27,6 +38,9 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private NdjsonStream ndjsonStream = new NdjsonStream(Jackson2ObjectMapperBuilder.json().build());
+
     @InjectMocks
     private UserController userController;
 
@@ -167,4 +181,39 @@ public class UserControllerTest {
         assertEquals("Usuario no encontrado", response.getBody().getMessage());
         verify(userService, times(1)).getUsersByEmail(email);
     }
+
+    @Test
+    void shouldReturnUserSummariesPage() {
+        when(userService.getUsersPage(null, 2)).thenReturn(new CursorPage<>(List.of(userView("u1"), userView("u2")), "u2"));
+
+        ResponseEntity<ApiResponse<CursorPage<UserView>>> response = userController.getUsersPage(null, 2);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getData().getItems().size());
+        assertEquals("u2", response.getBody().getData().getNextCursor());
+    }
+
+    @Test
+    void shouldStreamUsersWithoutPassword() throws Exception {
+        when(userService.streamAllUsers()).thenReturn(Stream.of(userView("u1"), userView("u2")));
+
+        ResponseEntity<StreamingResponseBody> response = userController.streamAllUsers();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String body = output.toString(StandardCharsets.UTF_8);
+        assertEquals(2, body.split("\n").length);
+        assertTrue(body.contains("\"id\":\"u1\""));
+        assertFalse(body.contains("password"));
+    }
+
+    private UserView userView(String id) {
+        return new UserView() {
+            public String getId() { return id; }
+            public String getName() { return "Ana"; }
+            public String getEmail() { return "ana@mail.com"; }
+            public Role getRole() { return Role.STUDENT; }
+            public boolean isRegistered() { return true; }
+        };
+    }
 }
@@ -0,0 +1,47 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Collects per-request latencies and status codes from many threads and summarizes them. */
+public class LatencyRecorder {
+    private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public void record(int status, long latencyNanos) {
+        latenciesNanos.add(latencyNanos);
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    public int count() {
+        return latenciesNanos.size();
+    }
+
+    /** Latency in milliseconds at the given percentile (0-100), nearest-rank method. */
+    public double percentileMillis(double percentile) {
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1_000_000.0;
+    }
+
+    public Map<Integer, Long> statuses() {
+        Map<Integer, Long> snapshot = new TreeMap<>();
+        statuses.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+
+    public String summary(String label, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("%-16s %6d req  %8.1f req/s  p50 %7.1f ms  p95 %7.1f ms  p99 %7.1f ms  max %7.1f ms  %s",
+                label, count(), count() / seconds, percentileMillis(50), percentileMillis(95), percentileMillis(99),
+                percentileMillis(100), statuses());
+    }
+}
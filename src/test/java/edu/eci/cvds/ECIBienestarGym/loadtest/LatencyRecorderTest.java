@@ -0,0 +1,28 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencyRecorderTest {
+
+    @Test
+    void shouldComputeNearestRankPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int millis = 1; millis <= 100; millis++) {
+            recorder.record(millis % 10 == 0 ? 400 : 201, millis * 1_000_000L);
+        }
+
+        assertEquals(50.0, recorder.percentileMillis(50));
+        assertEquals(99.0, recorder.percentileMillis(99));
+        assertEquals(100.0, recorder.percentileMillis(100));
+        assertEquals(Map.of(201, 90L, 400, 10L), recorder.statuses());
+    }
+
+    @Test
+    void shouldReturnZeroWithoutSamples() {
+        assertEquals(0.0, new LatencyRecorder().percentileMillis(99));
+    }
+}
@@ -0,0 +1,160 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import edu.eci.cvds.ECIBienestarGym.EciBienestarGymApplication;
+import edu.eci.cvds.ECIBienestarGym.service.ProgressSummaryService;
+import edu.eci.cvds.ECIBienestarGym.service.StatsCounterService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds a Mongo database with a semester of data, boots the application against it and drives
+ * the reservation-rush, timetable-browse and statistics scenarios, printing throughput, latency
+ * percentiles and Mongo commands per request for every endpoint they hit. The database is dropped
+ * and reseeded with a fixed random seed on every run, so runs are comparable.
+ *
+ * <pre>
+ * docker run -d -p 27017:27017 mongo:7
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Dgym.loadtest.scale=1 -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      edu.eci.cvds.ECIBienestarGym.loadtest.LoadTestSuite
+ * </pre>
+ *
+ * System properties (defaults in brackets): gym.loadtest.mongo-uri [mongodb://localhost:27017],
+ * gym.loadtest.database [gym-loadtest], gym.loadtest.port [18080], gym.loadtest.scale [1],
+ * gym.loadtest.requests per scenario [2000], gym.loadtest.concurrency [64].
+ */
+public class LoadTestSuite {
+
+    /** The warm-up requests go to {@code warmUp}, so that a rush does not fill the measured session beforehand. */
+    private record Scenario(String name, int requests, IntFunction<HttpRequest> warmUp, IntFunction<HttpRequest> request) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mongoUri = System.getProperty("gym.loadtest.mongo-uri", "mongodb://localhost:27017");
+        String database = System.getProperty("gym.loadtest.database", "gym-loadtest");
+        int port = Integer.getInteger("gym.loadtest.port", 18080);
+        double scale = Double.parseDouble(System.getProperty("gym.loadtest.scale", "1"));
+        int requests = Integer.getInteger("gym.loadtest.requests", 2000);
+        int concurrency = Integer.getInteger("gym.loadtest.concurrency", 64);
+
+        SemesterSeeder.Seeded seeded;
+        long seedStart = System.nanoTime();
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, database);
+            mongoTemplate.getDb().drop();
+            seeded = new SemesterSeeder(mongoTemplate, new Random(42)).seed(SemesterSeeder.Semester.typical(LocalDate.now()).scaled(scale));
+        }
+        System.out.printf("Semestre sembrado en %.1f s: %d estudiantes, %d sesiones, %d reservas, %d progresos%n",
+                (System.nanoTime() - seedStart) / 1e9, seeded.studentIds().size(), seeded.sessions(),
+                seeded.reservations(), seeded.progressEntries());
+
+        MongoCommandCounter counter = new MongoCommandCounter();
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(EciBienestarGymApplication.class)
+                .profiles("local-stats")
+                .properties(Map.of(
+                        "spring.data.mongodb.uri", mongoUri,
+                        "spring.data.mongodb.database", database,
+                        "server.port", port))
+                .initializers(context -> counter.register((GenericApplicationContext) context))
+                .run();
+        try {
+            application.getBean(StatsCounterService.class).rebuild();
+            application.getBean(ProgressSummaryService.class).rebuild();
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            for (Scenario scenario : scenarios("http://localhost:" + port, seeded, requests)) {
+                // Calentamiento para no medir la carga de clases, el JIT ni las caches frías
+                drive(client, scenario.warmUp(), Math.min(200, scenario.requests()), concurrency, new LatencyRecorder());
+                counter.reset();
+
+                LatencyRecorder recorder = new LatencyRecorder();
+                long start = System.nanoTime();
+                drive(client, scenario.request(), scenario.requests(), concurrency, recorder);
+                System.out.println(recorder.summary(scenario.name(), System.nanoTime() - start));
+                System.out.print(counter.report());
+            }
+        } finally {
+            application.close();
+        }
+    }
+
+    private static List<Scenario> scenarios(String baseUrl, SemesterSeeder.Seeded seeded, int requests) {
+        List<String> students = seeded.studentIds();
+        LocalDate start = seeded.semester().start();
+        int days = seeded.semester().weeks() * 7;
+        Random random = new Random(7);
+
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("reservation-rush", Math.min(requests, students.size()),
+                i -> reserve(baseUrl, students.get(i % students.size()), seeded.warmUpSessionId(), seeded),
+                i -> reserve(baseUrl, students.get(i % students.size()), seeded.rushSessionId(), seeded)));
+        IntFunction<HttpRequest> browse = i -> {
+            LocalDate date = start.plusDays(random.nextInt(days));
+            return i % 2 == 0
+                    ? get(baseUrl + "/api/user/session/date/" + date)
+                    : get(baseUrl + "/api/user/session/date/" + date + "/time-range?startTime=08:00:00&endTime=12:00:00");
+        };
+        scenarios.add(new Scenario("timetable-browse", requests, browse, browse));
+        List<String> statistics = List.of(
+                "/api/trainer/session-statistics",
+                "/api/trainer/students-by-session",
+                "/api/trainer/students-by-session?from=" + start + "&to=" + start.plusWeeks(4),
+                "/api/trainer/attendance-by-day");
+        IntFunction<HttpRequest> statistic = i -> get(baseUrl + statistics.get(i % statistics.size()));
+        scenarios.add(new Scenario("statistics", requests, statistic, statistic));
+        return scenarios;
+    }
+
+    private static void drive(HttpClient client, IntFunction<HttpRequest> requestFactory, int requests, int concurrency,
+                              LatencyRecorder recorder) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            HttpRequest request = requestFactory.apply(i);
+            long sent = System.nanoTime();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        recorder.record(error == null ? response.statusCode() : -1, System.nanoTime() - sent);
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static HttpRequest reserve(String baseUrl, String studentId, String sessionId, SemesterSeeder.Seeded seeded) {
+        return post(baseUrl + "/api/user/reservations", """
+                {"userId":{"id":"%s"},"gymSessionId":{"id":"%s"},"reservationDate":"%sT21:00:00","state":"PENDIENTE"}"""
+                .formatted(studentId, sessionId, seeded.semester().today().plusDays(1)));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the commands the Mongo driver sends and files each one under the endpoint
+ * ("METHOD /pattern") whose request thread issued it. Commands sent outside a request,
+ * such as the summary sync or the schema initializer, are filed under {@link #BACKGROUND}.
+ */
+public class MongoCommandCounter implements CommandListener {
+    static final String BACKGROUND = "(background)";
+
+    /** Driver housekeeping, not issued by application code. */
+    private static final Set<String> IGNORED = Set.of("hello", "isMaster", "ismaster", "ping", "buildInfo",
+            "saslStart", "saslContinue", "endSessions");
+
+    private final ThreadLocal<int[]> currentRequest = new ThreadLocal<>();
+    private final Map<String, EndpointCount> endpoints = new ConcurrentHashMap<>();
+
+    private static class EndpointCount {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder commands = new LongAdder();
+    }
+
+    /** Hooks the listener into the Mongo client and the request filter into the servlet chain. */
+    public void register(GenericApplicationContext context) {
+        context.registerBean(MongoClientSettingsBuilderCustomizer.class, () -> settings -> settings.addCommandListener(this));
+        context.registerBean("mongoCommandCounterFilter", FilterRegistrationBean.class, () -> {
+            FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(endpointFilter());
+            // Antes de la cadena de seguridad, para contar también la carga del usuario autenticado
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        });
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        count(event.getCommandName());
+    }
+
+    void count(String commandName) {
+        if (IGNORED.contains(commandName)) {
+            return;
+        }
+        // El driver síncrono notifica en el hilo que ejecuta la operación
+        int[] commands = currentRequest.get();
+        if (commands != null) {
+            commands[0]++;
+        } else {
+            endpoints.computeIfAbsent(BACKGROUND, key -> new EndpointCount()).commands.increment();
+        }
+    }
+
+    void beginRequest() {
+        currentRequest.set(new int[1]);
+    }
+
+    void endRequest(String endpoint) {
+        int[] commands = currentRequest.get();
+        currentRequest.remove();
+        if (commands == null) {
+            return;
+        }
+        EndpointCount count = endpoints.computeIfAbsent(endpoint, key -> new EndpointCount());
+        count.requests.increment();
+        count.commands.add(commands[0]);
+    }
+
+    public long requests(String endpoint) {
+        EndpointCount count = endpoints.get(endpoint);
+        return count == null ? 0 : count.requests.sum();
+    }
+
+    public long commands(String endpoint) {
+        EndpointCount count = endpoints.get(endpoint);
+        return count == null ? 0 : count.commands.sum();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        new TreeMap<>(endpoints).forEach((endpoint, count) -> {
+            long requests = count.requests.sum();
+            long commands = count.commands.sum();
+            report.append(String.format("  %-60s %7d req  %8d cmd  %6.2f cmd/req%n",
+                    endpoint, requests, commands, requests == 0 ? 0.0 : (double) commands / requests));
+        });
+        return report.toString();
+    }
+
+    OncePerRequestFilter endpointFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                beginRequest();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    endRequest(endpointOf(request));
+                }
+            }
+        };
+    }
+
+    static String endpointOf(HttpServletRequest request) {
+        // El patrón solo se conoce después del despacho y agrupa /sesion/{id} en una sola entrada
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,71 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MongoCommandCounterTest {
+
+    private final MongoCommandCounter counter = new MongoCommandCounter();
+
+    @Test
+    void shouldFileCommandsUnderTheMatchedEndpointPattern() throws Exception {
+        for (String id : new String[]{"s1", "s2"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/trainer/session/" + id);
+            counter.endpointFilter().doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                ((HttpServletRequest) req).setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/trainer/session/{id}");
+                counter.count("find");
+                counter.count("getMore");
+            });
+        }
+
+        assertEquals(2, counter.requests("GET /api/trainer/session/{id}"));
+        assertEquals(4, counter.commands("GET /api/trainer/session/{id}"));
+        assertTrue(counter.report().contains("2.00 cmd/req"));
+    }
+
+    @Test
+    void shouldFallBackToTheUriWhenNoHandlerMatched() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/desconocido");
+        counter.endpointFilter().doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        assertEquals(1, counter.requests("POST /api/desconocido"));
+        assertEquals(0, counter.commands("POST /api/desconocido"));
+    }
+
+    @Test
+    void shouldFileCommandsOutsideRequestsAsBackground() {
+        counter.count("update");
+        counter.beginRequest();
+        counter.endRequest("GET /api/user/session");
+        counter.count("update");
+
+        assertEquals(2, counter.commands(MongoCommandCounter.BACKGROUND));
+        assertEquals(0, counter.commands("GET /api/user/session"));
+    }
+
+    @Test
+    void shouldIgnoreDriverHousekeeping() {
+        counter.beginRequest();
+        counter.count("hello");
+        counter.count("saslStart");
+        counter.count("aggregate");
+        counter.endRequest("GET /api/trainer/students-by-session");
+
+        assertEquals(1, counter.commands("GET /api/trainer/students-by-session"));
+    }
+
+    @Test
+    void shouldForgetCountsOnReset() {
+        counter.count("find");
+        counter.reset();
+
+        assertEquals(0, counter.commands(MongoCommandCounter.BACKGROUND));
+        assertEquals("", counter.report());
+    }
+}
@@ -0,0 +1,80 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fires a burst of concurrent POST /api/user/reservations against a running instance and prints
+ * throughput and latency percentiles. Run it once against the default thread pool and once against
+ * an instance started with {@code -Pjava21} and {@code --spring.profiles.active=virtual-threads},
+ * using the same session, to compare both modes:
+ *
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      edu.eci.cvds.ECIBienestarGym.loadtest.ReservationRushBenchmark http://localhost:8080 &lt;sessionId&gt; 2000 1000 "platform"
+ * </pre>
+ *
+ * Arguments: base URL, gym session id, total requests, concurrent requests, label. Both accepted
+ * reservations (201) and rejections once the session is full (400) count as completed requests.
+ */
+public class ReservationRushBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String sessionId = args.length > 1 ? args[1] : "session-benchmark";
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        String label = args.length > 4 ? args[4] : "run";
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // Calentamiento para no medir la carga de clases ni el JIT del servidor
+        run(client, baseUrl, sessionId, Math.min(200, requests), Math.min(50, concurrency), new LatencyRecorder());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        run(client, baseUrl, sessionId, requests, concurrency, recorder);
+        System.out.println(recorder.summary(label, System.nanoTime() - start));
+    }
+
+    static void run(HttpClient client, String baseUrl, String sessionId, int requests, int concurrency,
+                    LatencyRecorder recorder) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/reservations"))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body(sessionId, i)))
+                    .build();
+            long sent = System.nanoTime();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        recorder.record(error == null ? response.statusCode() : -1, System.nanoTime() - sent);
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static String body(String sessionId, int user) {
+        return """
+                {"userId":{"id":"bench-user-%d","name":"Bench %d","email":"bench%d@mail.escuelaing.edu.co"},
+                 "gymSessionId":{"id":"%s"},
+                 "reservationDate":"%s",
+                 "state":"PENDIENTE"}""".formatted(user, user, user, sessionId, LocalDateTime.now().withNano(0));
+    }
+}
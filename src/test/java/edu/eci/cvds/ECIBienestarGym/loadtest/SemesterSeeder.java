@@ -0,0 +1,198 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.Exercise;
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.enums.ExerciseType;
+import edu.eci.cvds.ECIBienestarGym.enums.Gender;
+import edu.eci.cvds.ECIBienestarGym.enums.MuscleGroup;
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
+import edu.eci.cvds.ECIBienestarGym.enums.Status;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills a database with a semester of gym activity: coaches and students, hourly sessions
+ * from Monday to Saturday, reservations spread over them without exceeding capacity,
+ * attendance for the sessions already held, routines and physical progress entries.
+ * <p>
+ * Meant to run on a MongoTemplate built outside the application context, so the inserts
+ * do not trigger the summary sync listeners.
+ */
+public class SemesterSeeder {
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalTime FIRST_SLOT = LocalTime.of(6, 0);
+    private static final int SLOTS_PER_DAY = 14;
+    private static final int ROUTINES = 12;
+    private static final int RUSH_CAPACITY = 30;
+
+    private final MongoTemplate mongoTemplate;
+    private final Random random;
+
+    /** Shape of the seeded semester; {@code today} splits past sessions (with attendance) from upcoming ones. */
+    public record Semester(LocalDate start, int weeks, LocalDate today, int students, int coaches,
+                           int reservations, int progressEntries, int capacity) {
+
+        public static Semester typical(LocalDate today) {
+            LocalDate start = today.with(DayOfWeek.MONDAY).minusWeeks(8);
+            return new Semester(start, 16, today, 20_000, 20, 60_000, 20_000, 40);
+        }
+
+        public Semester scaled(double factor) {
+            return new Semester(start, weeks, today, Math.max(1, (int) (students * factor)), coaches,
+                    (int) (reservations * factor), (int) (progressEntries * factor), capacity);
+        }
+    }
+
+    /** What was written, for the scenarios to aim their requests at. */
+    public record Seeded(Semester semester, List<String> studentIds, int sessions, String warmUpSessionId,
+                         String rushSessionId, long reservations, long progressEntries) {
+    }
+
+    public SemesterSeeder(MongoTemplate mongoTemplate, Random random) {
+        this.mongoTemplate = mongoTemplate;
+        this.random = random;
+    }
+
+    public Seeded seed(Semester semester) {
+        List<User> coaches = new ArrayList<>(semester.coaches());
+        for (int i = 0; i < semester.coaches(); i++) {
+            coaches.add(user("Coach " + i, "coach" + i + "@escuelaing.edu.co", Role.TRAINER, semester.start()));
+        }
+        List<User> students = new ArrayList<>(semester.students());
+        for (int i = 0; i < semester.students(); i++) {
+            students.add(user("Estudiante " + i, "estudiante" + i + "@mail.escuelaing.edu.co", Role.STUDENT, semester.start()));
+        }
+        insert(coaches, User.class);
+        insert(students, User.class);
+
+        List<GymSession> sessions = new ArrayList<>();
+        for (LocalDate date = semester.start(); date.isBefore(semester.start().plusWeeks(semester.weeks())); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                User coach = coaches.get(random.nextInt(coaches.size()));
+                sessions.add(session(coach, date, FIRST_SLOT.plusHours(slot), semester.capacity()));
+            }
+        }
+
+        List<Reservation> reservations = new ArrayList<>(semester.reservations());
+        for (int i = 0; i < semester.reservations(); i++) {
+            GymSession session = sessions.get(random.nextInt(sessions.size()));
+            if (session.getCurrentReservations() >= session.getCapacity()) {
+                continue;
+            }
+            User student = students.get(random.nextInt(students.size()));
+            if (session.seatOf(student.getId()) >= 0) {
+                continue;
+            }
+            UserSummary summary = new UserSummary(student.getId(), student.getName(), student.getEmail());
+            session.enroll(summary);
+            session.setCurrentReservations(session.getCurrentReservations() + 1);
+            if (session.getDate().isBefore(semester.today())) {
+                session.setPresent(session.seatOf(student.getId()), random.nextInt(10) < 8);
+            }
+            reservations.add(new Reservation(null, summary, SessionSlot.of(session),
+                    session.getDate().atTime(session.getStartTime()), state(), null));
+        }
+
+        // Sesiones vacías de un día futuro para concentrar la avalancha de reservas (calentamiento y medición)
+        GymSession warmUp = session(coaches.get(0), semester.today().plusDays(1), LocalTime.of(21, 0), RUSH_CAPACITY);
+        GymSession rush = session(coaches.get(0), semester.today().plusDays(1), LocalTime.of(21, 0), RUSH_CAPACITY);
+        sessions.add(warmUp);
+        sessions.add(rush);
+        insert(sessions, GymSession.class);
+        insert(reservations, Reservation.class);
+
+        List<Routine> routines = new ArrayList<>(ROUTINES);
+        for (int i = 0; i < ROUTINES; i++) {
+            routines.add(routine(i));
+        }
+        insert(routines, Routine.class);
+        List<PhysicalProgress> progress = new ArrayList<>(semester.progressEntries());
+        for (int i = 0; i < semester.progressEntries(); i++) {
+            User student = students.get(random.nextInt(students.size()));
+            progress.add(progress(student, routines.get(random.nextInt(ROUTINES)),
+                    semester.start().plusDays(random.nextInt(semester.weeks() * 7))));
+        }
+        // Una inserción sobre una colección inexistente la crearía como colección normal
+        if (!mongoTemplate.collectionExists(PhysicalProgress.class)) {
+            mongoTemplate.createCollection(PhysicalProgress.class);
+        }
+        insert(progress, PhysicalProgress.class);
+
+        return new Seeded(semester, students.stream().map(User::getId).toList(), sessions.size(), warmUp.getId(), rush.getId(),
+                reservations.size(), progress.size());
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        for (int from = 0; from < documents.size(); from += BATCH_SIZE) {
+            mongoTemplate.insert(documents.subList(from, Math.min(documents.size(), from + BATCH_SIZE)), type);
+        }
+    }
+
+    private User user(String name, String email, Role role, LocalDate registrationDate) {
+        Gender gender = Gender.values()[random.nextInt(Gender.values().length)];
+        return new User(new ObjectId().toHexString(), name, email, "{noop}loadtest", role, gender, true, registrationDate);
+    }
+
+    private GymSession session(User coach, LocalDate date, LocalTime start, int capacity) {
+        GymSession session = new GymSession();
+        session.setId(new ObjectId().toHexString());
+        session.setCoachId(new UserSummary(coach.getId(), coach.getName(), coach.getEmail()));
+        session.setDate(date);
+        session.setStartTime(start);
+        session.setEndTime(start.plusMinutes(50));
+        session.setCapacity(capacity);
+        return session;
+    }
+
+    private Status state() {
+        int draw = random.nextInt(10);
+        return draw < 8 ? Status.APROBADO : draw == 8 ? Status.PENDIENTE : Status.RECHAZADO;
+    }
+
+    private Routine routine(int index) {
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            exercises.add(new Exercise("Ejercicio " + i, 8 + random.nextInt(8), 3 + random.nextInt(2), 45 + random.nextInt(60),
+                    ExerciseType.values()[random.nextInt(ExerciseType.values().length)],
+                    List.of(MuscleGroup.values()[random.nextInt(MuscleGroup.values().length)])));
+        }
+        Routine routine = new Routine(new ObjectId().toHexString(), "Rutina " + index, "Rutina de carga " + index, exercises,
+                28, DifficultyLevel.values()[index % DifficultyLevel.values().length], 0, 0);
+        routine.refreshMasks();
+        return routine;
+    }
+
+    private PhysicalProgress progress(User student, Routine routine, LocalDate date) {
+        PhysicalProgress progress = new PhysicalProgress();
+        progress.setUserId(new User(student.getId()));
+        progress.setRoutine(routine);
+        progress.setGoal("Mejorar condición física");
+        progress.setRegistrationDate(date);
+        progress.setWeight(50 + random.nextFloat() * 40);
+        progress.setHeight(150 + random.nextFloat() * 40);
+        progress.setWaists(60 + random.nextFloat() * 40);
+        progress.setChest(80 + random.nextFloat() * 30);
+        progress.setRightarm(25 + random.nextFloat() * 15);
+        progress.setLeftarm(25 + random.nextFloat() * 15);
+        progress.setRightleg(45 + random.nextFloat() * 20);
+        progress.setLeftleg(45 + random.nextFloat() * 20);
+        return progress;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.eci.cvds.ECIBienestarGym.loadtest;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class SemesterSeederTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 5, 14);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<User> users = new ArrayList<>();
+    private final List<GymSession> sessions = new ArrayList<>();
+    private final List<Reservation> reservations = new ArrayList<>();
+    private final List<PhysicalProgress> progress = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        capture(User.class, users);
+        capture(GymSession.class, sessions);
+        capture(Reservation.class, reservations);
+        capture(PhysicalProgress.class, progress);
+    }
+
+    @Test
+    void shouldSeedTheRequestedSemester() {
+        SemesterSeeder.Semester semester = new SemesterSeeder.Semester(LocalDate.of(2025, 5, 12), 2, TODAY, 1500, 3, 2500, 40, 10);
+
+        SemesterSeeder.Seeded seeded = new SemesterSeeder(mongoTemplate, new Random(1)).seed(semester);
+
+        assertEquals(1503, users.size());
+        assertEquals(1500, seeded.studentIds().size());
+        // 12 días hábiles de 14 franjas, más las dos sesiones de la avalancha
+        assertEquals(12 * 14 + 2, sessions.size());
+        assertEquals(seeded.sessions(), sessions.size());
+        assertEquals(seeded.reservations(), reservations.size());
+        assertEquals(40, progress.size());
+    }
+
+    @Test
+    void shouldKeepSessionsConsistentWithTheirReservations() {
+        SemesterSeeder.Semester semester = new SemesterSeeder.Semester(LocalDate.of(2025, 5, 12), 1, TODAY, 200, 2, 2000, 0, 5);
+
+        SemesterSeeder.Seeded seeded = new SemesterSeeder(mongoTemplate, new Random(1)).seed(semester);
+
+        long reserved = 0;
+        for (GymSession session : sessions) {
+            assertTrue(session.getCurrentReservations() <= session.getCapacity());
+            assertEquals(session.getCurrentReservations(), session.getUsers().size());
+            assertEquals(session.getDate().isBefore(TODAY) ? session.getUsers().size() : 0, session.getAttendance().size());
+            reserved += session.getCurrentReservations();
+        }
+        assertEquals(reservations.size(), reserved);
+        GymSession rush = sessions.stream().filter(session -> session.getId().equals(seeded.rushSessionId())).findFirst().orElseThrow();
+        assertEquals(0, rush.getCurrentReservations());
+        assertTrue(rush.getDate().isAfter(TODAY));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void capture(Class<T> type, List<T> inserted) {
+        doAnswer(invocation -> {
+            inserted.addAll((Collection<T>) invocation.getArgument(0));
+            return invocation.getArgument(0);
+        }).when(mongoTemplate).insert(any(Collection.class), eq(type));
+    }
+}
@@ -0,0 +1,79 @@
+package edu.eci.cvds.ECIBienestarGym.model;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GymSessionTest {
+
+    @Test
+    void shouldRoundTripAttendanceThroughBitmap() {
+        GymSession session = sessionWithUsers(130);
+        List<Boolean> attendance = new ArrayList<>();
+        for (int seat = 0; seat < 130; seat++) {
+            attendance.add(seat % 3 == 0);
+        }
+
+        session.setAttendance(attendance);
+
+        assertEquals(3, session.getAttendanceBits().size());
+        assertEquals(attendance, session.getAttendance());
+        assertEquals(44, session.countPresent());
+    }
+
+    @Test
+    void shouldReportNoAttendanceUntilTaken() {
+        GymSession session = sessionWithUsers(5);
+
+        assertTrue(session.getAttendance().isEmpty());
+
+        session.setPresent(4, false);
+
+        assertEquals(List.of(false, false, false, false, false), session.getAttendance());
+    }
+
+    @Test
+    void shouldIgnoreBitsOfSeatsThatLeftTheSession() {
+        GymSession session = sessionWithUsers(3);
+        session.setAttendance(List.of(true, true, true));
+        release(session, "u2");
+
+        assertEquals(2, session.countPresent());
+        assertFalse(session.isPresent(64));
+    }
+
+    @Test
+    void shouldKeepAttendanceOfLaterUsersWhenAnEarlierOneLeaves() {
+        GymSession session = sessionWithUsers(3);
+        session.setAttendance(List.of(false, false, true));
+
+        release(session, "u0");
+        session.enroll(new UserSummary("u3", "Estudiante 3", "u3@mail.com"));
+
+        // u2 sigue presente aunque ahora sea el segundo de la lista; u3 ocupa un puesto nuevo
+        assertEquals(List.of(false, true, false), session.getAttendance());
+        assertEquals(3, session.seatOf("u3"));
+        assertEquals(-1, session.seatOf("u0"));
+        assertEquals(1, session.countPresent());
+    }
+
+    /** Mirrors releaseSpot: the user is pulled and the seat left as a tombstone. */
+    private void release(GymSession session, String userId) {
+        session.getUsers().removeIf(user -> user.getId().equals(userId));
+        session.getSeats().set(session.seatOf(userId), null);
+    }
+
+    private GymSession sessionWithUsers(int users) {
+        GymSession session = new GymSession();
+        for (int i = 0; i < users; i++) {
+            session.enroll(new UserSummary("u" + i, "Estudiante " + i, "u" + i + "@mail.com"));
+        }
+        return session;
+    }
+}
@@ -0,0 +1,75 @@
+package edu.eci.cvds.ECIBienestarGym.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.ProjectionInformation;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.beans.FeatureDescriptor;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectionViewTest {
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void shouldOnlyReadTheListedFields() {
+        // Las proyecciones cerradas le dicen a Mongo exactamente qué campos devolver
+        assertEquals(Set.of("id", "coachId", "date", "startTime", "endTime", "capacity", "currentReservations"), inputProperties(GymSessionView.class));
+        assertEquals(Set.of("id", "gymSessionId", "reservationDate", "state", "seriesId"), inputProperties(ReservationView.class));
+        assertEquals(Set.of("id", "name", "description", "durationDays", "difficulty"), inputProperties(RoutineView.class));
+        assertEquals(Set.of("id", "name", "email", "role", "registered"), inputProperties(UserView.class));
+    }
+
+    @Test
+    void shouldSerializeSessionWithoutUsersOrAttendance() throws Exception {
+        GymSession session = new GymSession();
+        session.setId("session1");
+        session.setDate(LocalDate.of(2025, 5, 19));
+        session.setStartTime(LocalTime.of(7, 0));
+        session.setCapacity(30);
+        session.setCurrentReservations(1);
+        session.enroll(new UserSummary("user1", "Ana", "ana@mail.com"));
+        session.setAttendance(List.of(true));
+
+        String json = objectMapper.writeValueAsString(projectionFactory.createProjection(GymSessionView.class, session));
+
+        assertTrue(json.contains("\"currentReservations\":1"));
+        assertTrue(json.contains("\"capacity\":30"));
+        assertFalse(json.contains("users"));
+        assertFalse(json.contains("attendance"));
+        assertFalse(json.contains("target"));
+    }
+
+    @Test
+    void shouldSerializeUserWithoutPassword() throws Exception {
+        User user = new User("user1", "Ana", "ana@mail.com");
+        user.setPassword("$2a$10$hash");
+        user.setRole(Role.STUDENT);
+
+        String json = objectMapper.writeValueAsString(projectionFactory.createProjection(UserView.class, user));
+
+        assertTrue(json.contains("\"role\":\"STUDENT\""));
+        assertFalse(json.contains("password"));
+    }
+
+    private Set<String> inputProperties(Class<?> view) {
+        ProjectionInformation information = projectionFactory.getProjectionInformation(view);
+        assertTrue(information.isClosed());
+        return information.getInputProperties().stream().map(FeatureDescriptor::getName).collect(Collectors.toSet());
+    }
+}
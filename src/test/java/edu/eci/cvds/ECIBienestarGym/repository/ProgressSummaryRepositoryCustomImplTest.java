@@ -0,0 +1,50 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ProgressSummaryRepositoryCustomImplTest {
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private ProgressSummaryRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProgressSummary.class)).thenReturn(bulk);
+        repository = new ProgressSummaryRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void shouldUpsertSummariesBeforeDeletingUsersWithoutMeasurements() {
+        ProgressSummary ana = new ProgressSummary("u1");
+        ProgressSummary luis = new ProgressSummary("u2");
+
+        int written = repository.replaceAll(List.of(ana, luis));
+
+        ArgumentCaptor<Query> stale = ArgumentCaptor.forClass(Query.class);
+        var order = inOrder(bulk, mongoTemplate);
+        order.verify(bulk).replaceOne(argThat(query -> query.getQueryObject().equals(new Document("id", "u1"))), eq(ana), any(FindAndReplaceOptions.class));
+        order.verify(bulk).replaceOne(argThat(query -> query.getQueryObject().equals(new Document("id", "u2"))), eq(luis), any(FindAndReplaceOptions.class));
+        order.verify(bulk).execute();
+        order.verify(mongoTemplate).remove(stale.capture(), eq(ProgressSummary.class));
+
+        assertEquals(2, written);
+        assertEquals(new Document("id", new Document("$nin", List.of("u1", "u2"))), stale.getValue().getQueryObject());
+        verify(mongoTemplate, never()).remove(argThat((Query query) -> query.getQueryObject().isEmpty()), eq(ProgressSummary.class));
+    }
+}
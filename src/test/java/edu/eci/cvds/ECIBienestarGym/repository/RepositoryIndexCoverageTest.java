@@ -0,0 +1,108 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.util.Streamable;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mirrors an explain-plan check: a derived query only avoids a COLLSCAN when some index
+ * on the collection (the implicit one on _id included, except on time-series collections) starts with one of the fields it
+ * filters on, or, for unfiltered queries, with the field it sorts by.
+ */
+public class RepositoryIndexCoverageTest {
+
+    /** Queries that only back occasional administrative screens and may scan. */
+    private static final Set<String> ALLOWED_SCANS = Set.of(
+            "GymSessionRepository.findByCapacity",
+            "GymSessionRepository.findByStartTimeAndEndTime",
+            "GymSessionRepository.findByEndTime",
+            "ReservationRepository.findReservationByState",
+            "UserRepository.findByName",
+            "UserRepository.findByRole",
+            "UserRepository.findByRegistrationDate"
+    );
+
+    private static final MongoMappingContext mappingContext = new MongoMappingContext();
+    private static final MongoPersistentEntityIndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+    static {
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+    }
+
+    static Stream<Arguments> derivedQueries() {
+        Map<Class<?>, Class<?>> repositories = Map.of(
+                ReservationRepository.class, Reservation.class,
+                GymSessionRepository.class, GymSession.class,
+                PhysicalProgressRepository.class, PhysicalProgress.class,
+                ProgressSummaryRepository.class, ProgressSummary.class,
+                UserRepository.class, User.class,
+                StatsCounterRepository.class, StatsCounter.class,
+                WaitlistRepository.class, WaitlistEntry.class
+        );
+        return repositories.entrySet().stream()
+                .flatMap(entry -> Arrays.stream(entry.getKey().getDeclaredMethods())
+                        .filter(method -> method.getName().matches("(find|stream|delete|count|exists).*By.*"))
+                        .filter(method -> !method.isAnnotationPresent(Query.class) && !method.isAnnotationPresent(Aggregation.class))
+                        .filter(method -> !ALLOWED_SCANS.contains(entry.getKey().getSimpleName() + "." + method.getName()))
+                        .map(method -> Arguments.of(entry.getKey().getSimpleName() + "." + method.getName(), method, entry.getValue())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("derivedQueries")
+    void derivedQueryShouldUseAnIndex(String name, Method method, Class<?> domainType) {
+        PartTree tree = new PartTree(method.getName(), domainType);
+        Set<String> filteredFields = tree.getParts().stream()
+                .map(Part::getProperty)
+                .map(path -> fieldName(path))
+                .collect(Collectors.toSet());
+        if (filteredFields.isEmpty()) {
+            // Sin filtro solo se evita el COLLSCAN recorriendo un índice en el orden pedido
+            tree.getSort().stream().findFirst()
+                    .map(order -> fieldName(PropertyPath.from(order.getProperty(), domainType)))
+                    .ifPresent(filteredFields::add);
+        }
+
+        // Una colección de serie de tiempo no tiene el índice implícito sobre _id
+        Stream<String> idIndex = domainType.isAnnotationPresent(TimeSeries.class) ? Stream.empty() : Stream.of("_id");
+        List<String> leadingIndexKeys = Stream.concat(idIndex, Streamable.of(indexResolver.resolveIndexFor(domainType)).stream()
+                        .filter(index -> !((IndexDefinitionHolder) index).getPath().contains("."))
+                        .map(index -> index.getIndexKeys().keySet().iterator().next()))
+                .toList();
+
+        assertTrue(leadingIndexKeys.stream().anyMatch(filteredFields::contains),
+                name + " filtra por " + filteredFields + " pero ningún índice empieza por esos campos " + leadingIndexKeys);
+    }
+
+    private static String fieldName(PropertyPath path) {
+        return mappingContext.getPersistentPropertyPath(path).toDotPath(MongoPersistentProperty::getFieldName);
+    }
+}
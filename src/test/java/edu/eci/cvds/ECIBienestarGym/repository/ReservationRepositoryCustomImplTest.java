@@ -0,0 +1,129 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import edu.eci.cvds.ECIBienestarGym.enums.Status;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReservationRepositoryCustomImplTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 5, 19, 0, 0);
+    private static final LocalDateTime TO = FROM.plusWeeks(1);
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 5, 20, 7, 0);
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private BulkWriteResult result;
+    private ReservationRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        result = mock(BulkWriteResult.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "reservations")).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(result);
+        repository = new ReservationRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void shouldUpsertNextWeekCopyKeyedByUserSessionAndDate() {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("reservations")))
+                .thenAnswer(invocation -> Stream.of(reservation()));
+        when(result.getUpserts()).thenReturn(List.of(new BulkWriteUpsert(0, new BsonString("R2"))));
+
+        long created = repository.rollForwardWeek(FROM, TO, 100);
+
+        ArgumentCaptor<Query> key = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> copy = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).upsert(key.capture(), copy.capture());
+        assertEquals(1, created);
+        assertEquals(new Document("userId._id", "U1")
+                        .append("gymSessionId._id", "S1")
+                        .append("reservationDate", toDate(DATE.plusWeeks(1))),
+                key.getValue().getQueryObject());
+        assertEquals(new Document("$setOnInsert", new Document("state", Status.APROBADO.name())
+                        .append("seriesId", "SERIE1")
+                        .append("_class", "edu.eci.cvds.ECIBienestarGym.model.Reservation")
+                        .append("userId.name", "Ana")
+                        .append("gymSessionId.capacity", 20)),
+                copy.getValue().getUpdateObject());
+    }
+
+    @Test
+    void shouldOnlyStreamReservationsWithEmbeddedSummaries() {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("reservations")))
+                .thenAnswer(invocation -> Stream.empty());
+
+        repository.rollForwardWeek(FROM, TO, 100);
+
+        ArgumentCaptor<Query> window = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(window.capture(), eq(Document.class), eq("reservations"));
+        Document filter = window.getValue().getQueryObject();
+        assertEquals(new Document("$exists", true), filter.get("userId._id"));
+        assertEquals(new Document("$exists", true), filter.get("gymSessionId._id"));
+        verify(bulk, never()).execute();
+    }
+
+    @Test
+    void shouldCreateNothingWhenRunAgainOverSameWeek() {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("reservations")))
+                .thenAnswer(invocation -> Stream.of(reservation()));
+        // La segunda corrida encuentra las copias ya insertadas y el upsert no crea documentos
+        when(result.getUpserts())
+                .thenReturn(List.of(new BulkWriteUpsert(0, new BsonString("R2"))))
+                .thenReturn(List.of());
+
+        long first = repository.rollForwardWeek(FROM, TO, 100);
+        long second = repository.rollForwardWeek(FROM, TO, 100);
+
+        ArgumentCaptor<Query> key = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(2)).upsert(key.capture(), any(Update.class));
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(key.getAllValues().get(0).getQueryObject(), key.getAllValues().get(1).getQueryObject());
+    }
+
+    @Test
+    void shouldExecuteOneBulkPerBatch() {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("reservations")))
+                .thenAnswer(invocation -> Stream.of(reservation(), reservation(), reservation()));
+        when(result.getUpserts()).thenReturn(List.of());
+
+        repository.rollForwardWeek(FROM, TO, 2);
+
+        verify(bulk, times(3)).upsert(any(Query.class), any(Update.class));
+        verify(bulk, times(2)).execute();
+    }
+
+    private Document reservation() {
+        return new Document("_id", "R1")
+                .append("userId", new Document("_id", "U1").append("name", "Ana"))
+                .append("gymSessionId", new Document("_id", "S1").append("capacity", 20))
+                .append("reservationDate", toDate(DATE))
+                .append("state", Status.APROBADO.name())
+                .append("seriesId", "SERIE1")
+                .append("_class", "edu.eci.cvds.ECIBienestarGym.model.Reservation");
+    }
+
+    private Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,62 @@
+package edu.eci.cvds.ECIBienestarGym.repository;
+
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class StatsCounterRepositoryCustomImplTest {
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private StatsCounterRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatsCounter.class)).thenReturn(bulk);
+        repository = new StatsCounterRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void shouldUpsertEveryCounterBeforeDeletingStaleKeys() {
+        int written = repository.replaceAll(CounterKind.DAILY_ATTENDANCE, Map.of("2025-05-20", 7));
+
+        ArgumentCaptor<Query> upsert = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<StatsCounter> counter = ArgumentCaptor.forClass(StatsCounter.class);
+        ArgumentCaptor<Query> stale = ArgumentCaptor.forClass(Query.class);
+        var order = inOrder(bulk, mongoTemplate);
+        order.verify(bulk).replaceOne(upsert.capture(), counter.capture(), any(FindAndReplaceOptions.class));
+        order.verify(bulk).execute();
+        order.verify(mongoTemplate).remove(stale.capture(), eq(StatsCounter.class));
+
+        String id = StatsCounter.idOf(CounterKind.DAILY_ATTENDANCE, "2025-05-20");
+        assertEquals(1, written);
+        assertEquals(new Document("id", id), upsert.getValue().getQueryObject());
+        assertEquals(7L, counter.getValue().getValue());
+        assertEquals(new Document("kind", CounterKind.DAILY_ATTENDANCE).append("id", new Document("$nin", List.of(id))),
+                stale.getValue().getQueryObject());
+    }
+
+    @Test
+    void shouldOnlyDeleteWhenNoValuesRemain() {
+        int written = repository.replaceAll(CounterKind.DAILY_ATTENDANCE, Map.of());
+
+        assertEquals(0, written);
+        verifyNoInteractions(bulk);
+        verify(mongoTemplate).remove(any(Query.class), eq(StatsCounter.class));
+    }
+}
@@ -7,6 +7,7 @@ import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,7 +21,7 @@ public class AuthServiceTest {
     @BeforeEach
     public void setUp() {
         userRepository = mock(UserRepository.class);
-        authService = new AuthService(userRepository);
+        authService = new AuthService(new UserPrincipalCache(userRepository, 100, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -32,7 +33,7 @@ public class AuthServiceTest {
         user.setEmail(email);
         user.setRole(role);
 
-        when(userRepository.findByEmailAndRole(email, role)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
 
         User result = authService.isUserValidate(email, role);
 
@@ -46,7 +47,7 @@ public class AuthServiceTest {
         String email = "missing@example.com";
         Role role = Role.ADMINISTRATOR;
 
-        when(userRepository.findByEmailAndRole(email, role)).thenReturn(Optional.empty());
+        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         GYMException exception = assertThrows(GYMException.class, () -> {
             authService.isUserValidate(email, role);
@@ -54,4 +55,16 @@ public class AuthServiceTest {
 
         assertEquals(GYMException.USER_NOT_FOUND, exception.getMessage());
     }
+
+    @Test
+    public void shouldThrowExceptionWhenRoleDoesNotMatch() {
+        User user = new User();
+        user.setEmail("student@example.com");
+        user.setRole(Role.STUDENT);
+        when(userRepository.findByEmail("student@example.com")).thenReturn(Optional.of(user));
+
+        GYMException exception = assertThrows(GYMException.class, () -> authService.isUserValidate("student@example.com", Role.TRAINER));
+
+        assertEquals(GYMException.USER_NOT_FOUND, exception.getMessage());
+    }
 }
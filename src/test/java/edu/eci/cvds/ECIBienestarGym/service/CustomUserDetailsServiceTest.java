@@ -1,4 +1,5 @@
 package edu.eci.cvds.ECIBienestarGym.service;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Optional;
@@ -9,8 +10,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,13 +28,13 @@ public class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
     private User user;
 
     @BeforeEach
     void setUp() {
+        customUserDetailsService = new CustomUserDetailsService(new UserPrincipalCache(userRepository, 100, Duration.ofMinutes(5)));
         user = new User("1", "John Doe", "john.doe@example.com", "password123", Role.ADMINISTRATOR, Gender.HOMBRE, true, LocalDate.now());
     }
 
@@ -55,4 +57,14 @@ public class CustomUserDetailsServiceTest {
         UsernameNotFoundException exception = assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("unknown@example.com"));
         assertNotNull(exception.getMessage());
     }
+
+    @Test
+    void shouldAuthenticateRepeatedlyWithOneLookup() {
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("john.doe@example.com");
+        customUserDetailsService.loadUserByUsername("john.doe@example.com");
+
+        verify(userRepository, times(1)).findByEmail("john.doe@example.com");
+    }
 }
@@ -2,20 +2,29 @@ package edu.eci.cvds.ECIBienestarGym.service;
 
 import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.AttendanceRate;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +32,9 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 public class GymSessionServiceTest {
@@ -30,12 +42,23 @@ public class GymSessionServiceTest {
     @Mock
     private GymSessionRepository gymSessionRepository;
 
-    @InjectMocks
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Mock
+    private SessionOccupancyBroadcaster occupancyBroadcaster;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     private GymSessionService gymSessionService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        gymSessionService = new GymSessionService(gymSessionRepository,
+                new GymSessionTimetableCache(gymSessionRepository, 10, Duration.ofMinutes(5)), statsCounterService,
+                occupancyBroadcaster, new SummarySyncService(mongoTemplate, Runnable::run));
     }
 
     @Test
@@ -97,17 +120,34 @@ public class GymSessionServiceTest {
         String sessionId = "sess123";
         GymSession existingSession = new GymSession();
         existingSession.setId(sessionId);
+        existingSession.enroll(new UserSummary("u1", "Ana", "ana@mail.com"));
+        existingSession.enroll(new UserSummary("u2", "Luis", "luis@mail.com"));
+        existingSession.enroll(new UserSummary("u3", "Sara", "sara@mail.com"));
 
         List<Boolean> attendanceList = Arrays.asList(true, false, true);
 
         when(gymSessionRepository.findById(sessionId)).thenReturn(Optional.of(existingSession));
-        when(gymSessionRepository.save(any(GymSession.class))).thenReturn(existingSession);
+        when(gymSessionRepository.replaceAttendance(sessionId, List.of("u1", "u2", "u3"), List.of(5L))).thenReturn(true);
 
         GymSession updatedSession = gymSessionService.updatedAttendance(sessionId, attendanceList);
 
         assertEquals(attendanceList, updatedSession.getAttendance());
         verify(gymSessionRepository, times(1)).findById(sessionId);
-        verify(gymSessionRepository, times(1)).save(existingSession);
+        verify(gymSessionRepository, never()).save(any(GymSession.class));
+    }
+
+    @Test
+    void shouldRetryAttendanceUpdateWhenSeatsChanged() throws GYMException {
+        GymSession stale = sessionWithUsers(2);
+        GymSession fresh = sessionWithUsers(3);
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(stale)).thenReturn(Optional.of(fresh));
+        when(gymSessionRepository.replaceAttendance(eq("sess123"), eq(List.of("u0", "u1")), anyList())).thenReturn(false);
+        when(gymSessionRepository.replaceAttendance(eq("sess123"), eq(List.of("u0", "u1", "u2")), anyList())).thenReturn(true);
+
+        GymSession updated = gymSessionService.updatedAttendance("sess123", List.of(true, true, false));
+
+        assertEquals(List.of(true, true, false), updated.getAttendance());
+        verify(gymSessionRepository, times(2)).findById("sess123");
     }
 
     @Test
@@ -127,12 +167,12 @@ public class GymSessionServiceTest {
         User coach = new User();
         coach.setId("coach456");
         List<GymSession> mockSessions = Arrays.asList(new GymSession(), new GymSession());
-        when(gymSessionRepository.findByCoachId(coach)).thenReturn(mockSessions);
+        when(gymSessionRepository.findByCoachIdId("coach456")).thenReturn(mockSessions);
 
         List<GymSession> sessions = gymSessionService.getGymSessionsByCoachId(coach);
 
         assertEquals(2, sessions.size());
-        verify(gymSessionRepository, times(1)).findByCoachId(coach);
+        verify(gymSessionRepository, times(1)).findByCoachIdId("coach456");
     }
 
     @Test
@@ -163,16 +203,67 @@ public class GymSessionServiceTest {
     @Test
     void ShouldGetGymSessionsByDateAndTime() {
         LocalDate date = LocalDate.now();
-        LocalTime startTime = LocalTime.of(10, 0);
-        LocalTime endTime = LocalTime.of(12, 0);
-        LocalDateTime startDateTime = startTime.atDate(date);
-        LocalDateTime endDateTime = endTime.atDate(date);
-        List<GymSession> mockSessions = Arrays.asList(new GymSession(), new GymSession());
-        when(gymSessionRepository.findByDateAndStartTimeBetween(date, startDateTime, endDateTime)).thenReturn(mockSessions);
-        List<GymSession> sessions = gymSessionService.getGymSessionsByDateAndTime(date, startDateTime.toLocalTime(), endDateTime.toLocalTime());
+        List<GymSession> mockSessions = Arrays.asList(
+                sessionAt(date, LocalTime.of(9, 0)), sessionAt(date, LocalTime.of(10, 0)), sessionAt(date, LocalTime.of(11, 30)),
+                sessionAt(date, LocalTime.of(12, 0)), sessionAt(date, LocalTime.of(13, 0)));
+        when(gymSessionRepository.findByDate(date)).thenReturn(mockSessions);
 
-        assertEquals(2, sessions.size());
-        verify(gymSessionRepository, times(1)).findByDateAndStartTimeBetween(date, startDateTime, endDateTime);
+        List<GymSession> sessions = gymSessionService.getGymSessionsByDateAndTime(date, LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        // Como findByDateAndStartTimeBetween, las sesiones que empiezan justo en los límites quedan fuera
+        assertEquals(List.of(LocalTime.of(11, 30)), sessions.stream().map(GymSession::getStartTime).toList());
+        verify(gymSessionRepository, times(1)).findByDate(date);
+    }
+
+    @Test
+    void ShouldServeRepeatedDateLookupsFromTimetableCache() {
+        LocalDate date = LocalDate.now();
+        when(gymSessionRepository.findByDate(date)).thenReturn(List.of(sessionAt(date, LocalTime.of(8, 0))));
+
+        gymSessionService.getGymSessionsByDate(date);
+        gymSessionService.getGymSessionsByDateAndTime(date, LocalTime.of(7, 0), LocalTime.of(9, 0));
+        List<GymSession> sessions = gymSessionService.getGymSessionsByDate(date);
+
+        assertEquals(1, sessions.size());
+        verify(gymSessionRepository, times(1)).findByDate(date);
+    }
+
+    @Test
+    void ShouldInvalidateOldAndNewDateWhenSessionIsMoved() throws GYMException {
+        LocalDate oldDate = LocalDate.of(2025, 5, 19);
+        LocalDate newDate = LocalDate.of(2025, 5, 20);
+        GymSession existing = sessionAt(oldDate, LocalTime.of(8, 0));
+        existing.setId("sess123");
+        GymSession moved = sessionAt(newDate, LocalTime.of(8, 0));
+        when(gymSessionRepository.findByDate(oldDate)).thenReturn(List.of(existing)).thenReturn(List.of());
+        when(gymSessionRepository.findByDate(newDate)).thenReturn(List.of()).thenReturn(List.of(moved));
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(existing));
+        when(gymSessionRepository.updateSlot(eq("sess123"), any(UserSummary.class), eq(newDate), eq(LocalTime.of(8, 0)), any(), anyInt()))
+                .thenReturn(Optional.of(moved));
+        gymSessionService.getGymSessionsByDate(oldDate);
+        gymSessionService.getGymSessionsByDate(newDate);
+
+        UserDTO coachDTO = new UserDTO();
+        coachDTO.setId("coach123");
+        GymSessionDTO gymSessionDTO = new GymSessionDTO();
+        gymSessionDTO.setCoachId(coachDTO);
+        gymSessionDTO.setDate(newDate);
+        gymSessionDTO.setStartTime(LocalTime.of(8, 0));
+        gymSessionService.updateGymSession("sess123", gymSessionDTO);
+
+        assertEquals(0, gymSessionService.getGymSessionsByDate(oldDate).size());
+        assertEquals(1, gymSessionService.getGymSessionsByDate(newDate).size());
+        verify(gymSessionRepository, times(2)).findByDate(oldDate);
+        verify(gymSessionRepository, times(2)).findByDate(newDate);
+        verify(occupancyBroadcaster).sessionRemoved(existing);
+        verify(occupancyBroadcaster).sessionChanged(moved);
+    }
+
+    private GymSession sessionAt(LocalDate date, LocalTime startTime) {
+        GymSession gymSession = new GymSession();
+        gymSession.setDate(date);
+        gymSession.setStartTime(startTime);
+        return gymSession;
     }
 
     @Test
@@ -243,13 +334,50 @@ public class GymSessionServiceTest {
 
         GymSession mockSession = new GymSession();
         when(gymSessionRepository.findById(id)).thenReturn(Optional.of(mockSession));
-        when(gymSessionRepository.save(any(GymSession.class))).thenReturn(mockSession);
+        when(gymSessionRepository.updateSlot(eq(id), any(UserSummary.class), eq(gymSessionDTO.getDate()),
+                eq(LocalTime.of(10, 0)), eq(LocalTime.of(12, 0)), eq(20))).thenReturn(Optional.of(mockSession));
 
         GymSession updatedSession = gymSessionService.updateGymSession(id, gymSessionDTO);
 
         assertEquals(mockSession, updatedSession);
         verify(gymSessionRepository, times(1)).findById(id);
-        verify(gymSessionRepository, times(1)).save(any(GymSession.class));
+        // Inscritos, puestos y cupos ocupados no se reescriben con el documento completo
+        verify(gymSessionRepository, never()).save(any(GymSession.class));
+    }
+
+    @Test
+    void ShouldSyncEmbeddedSlotIntoReservationsWhenSlotIsEdited() throws GYMException {
+        String id = "sess123";
+        LocalDate newDate = LocalDate.of(2025, 5, 21);
+        UserSummary newCoach = new UserSummary("coach456", "Laura", "laura@example.com");
+        GymSession existing = sessionAt(LocalDate.of(2025, 5, 20), LocalTime.of(8, 0));
+        existing.setId(id);
+        GymSession edited = sessionAt(newDate, LocalTime.of(9, 0));
+        edited.setId(id);
+        edited.setCoachId(newCoach);
+        edited.setEndTime(LocalTime.of(10, 0));
+        when(gymSessionRepository.findById(id)).thenReturn(Optional.of(existing));
+        when(gymSessionRepository.updateSlot(eq(id), any(UserSummary.class), eq(newDate), eq(LocalTime.of(9, 0)),
+                eq(LocalTime.of(10, 0)), anyInt())).thenReturn(Optional.of(edited));
+
+        UserDTO coachDTO = new UserDTO();
+        coachDTO.setId("coach456");
+        GymSessionDTO gymSessionDTO = new GymSessionDTO();
+        gymSessionDTO.setCoachId(coachDTO);
+        gymSessionDTO.setDate(newDate);
+        gymSessionDTO.setStartTime(LocalTime.of(9, 0));
+        gymSessionDTO.setEndTime(LocalTime.of(10, 0));
+        gymSessionService.updateGymSession(id, gymSessionDTO);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(Reservation.class));
+        assertEquals(id, query.getValue().getQueryObject().get("gymSessionId._id"));
+        SessionSlot slot = (SessionSlot) update.getValue().getUpdateObject().get("$set", Document.class).get("gymSessionId");
+        assertEquals(newCoach, slot.getCoachId());
+        assertEquals(newDate, slot.getDate());
+        assertEquals(LocalTime.of(9, 0), slot.getStartTime());
+        assertEquals(LocalTime.of(10, 0), slot.getEndTime());
     }
 
     @Test
@@ -265,6 +393,7 @@ public class GymSessionServiceTest {
 
         verify(gymSessionRepository, times(1)).findById(id);
         verify(gymSessionRepository, times(1)).delete(mockSession);
+        verify(occupancyBroadcaster).sessionRemoved(mockSession);
     }
 
     @Test
@@ -281,4 +410,75 @@ public class GymSessionServiceTest {
         assertEquals(GYMException.GYM_SESION_NOT_FOUND, exception.getMessage());
         verify(gymSessionRepository, times(1)).findById(id);
     }
+
+    @Test
+    void shouldMarkAttendanceWithSingleBitUpdate() throws GYMException {
+        GymSession session = sessionWithUsers(70);
+        GymSession before = sessionWithUsers(70);
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(session));
+        when(gymSessionRepository.markAttendance("sess123", 65, "u65", true)).thenReturn(Optional.of(before));
+
+        gymSessionService.markAttendance("sess123", "u65", true);
+
+        // El estudiante 65 está en la segunda palabra del bitmap, que todavía no existe
+        verify(gymSessionRepository).growAttendance("sess123", 0, 2);
+        verify(statsCounterService).attendanceMarked(session.getDate(), true);
+        verify(gymSessionRepository, never()).save(any(GymSession.class));
+    }
+
+    @Test
+    void shouldNotCountAttendanceTwiceWhenAlreadyMarked() throws GYMException {
+        GymSession session = sessionWithUsers(3);
+        session.setPresent(1, true);
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(session));
+        when(gymSessionRepository.markAttendance("sess123", 1, "u1", true)).thenReturn(Optional.of(session));
+
+        gymSessionService.markAttendance("sess123", "u1", true);
+
+        verify(gymSessionRepository, never()).growAttendance(anyString(), anyInt(), anyInt());
+        verify(statsCounterService, never()).attendanceMarked(any(), anyBoolean());
+    }
+
+    @Test
+    void shouldRetryAndGiveUpWhenSeatKeepsMoving() {
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(sessionWithUsers(3)));
+        when(gymSessionRepository.markAttendance("sess123", 2, "u2", true)).thenReturn(Optional.empty());
+
+        GYMException exception = assertThrows(GYMException.class, () -> gymSessionService.markAttendance("sess123", "u2", true));
+
+        assertEquals(GYMException.ATTENDANCE_CONFLICT, exception.getMessage());
+        verify(gymSessionRepository, times(3)).markAttendance("sess123", 2, "u2", true);
+    }
+
+    @Test
+    void shouldRejectAttendanceOfUserNotInSession() {
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(sessionWithUsers(3)));
+
+        GYMException exception = assertThrows(GYMException.class, () -> gymSessionService.markAttendance("sess123", "u9", true));
+
+        assertEquals(GYMException.USER_NOT_IN_SESSION, exception.getMessage());
+    }
+
+    @Test
+    void shouldComputeAttendanceRateFromBitmap() throws GYMException {
+        GymSession session = sessionWithUsers(4);
+        session.setAttendance(List.of(true, false, true, true));
+        when(gymSessionRepository.findById("sess123")).thenReturn(Optional.of(session));
+
+        AttendanceRate rate = gymSessionService.getAttendanceRate("sess123");
+
+        assertEquals(3, rate.getPresent());
+        assertEquals(4, rate.getEnrolled());
+        assertEquals(0.75, rate.getRate());
+    }
+
+    private GymSession sessionWithUsers(int users) {
+        GymSession session = new GymSession();
+        session.setId("sess123");
+        session.setDate(LocalDate.of(2025, 5, 19));
+        for (int i = 0; i < users; i++) {
+            session.enroll(new UserSummary("u" + i, "Estudiante " + i, "u" + i + "@mail.com"));
+        }
+        return session;
+    }
 }
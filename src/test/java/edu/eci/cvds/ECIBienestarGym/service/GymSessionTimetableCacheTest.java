@@ -0,0 +1,93 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class GymSessionTimetableCacheTest {
+    private static final LocalDate DATE = LocalDate.of(2025, 5, 19);
+
+    private GymSessionRepository gymSessionRepository;
+    private GymSessionTimetableCache timetableCache;
+
+    @BeforeEach
+    void setUp() {
+        gymSessionRepository = mock(GymSessionRepository.class);
+        timetableCache = new GymSessionTimetableCache(gymSessionRepository, 10, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldPatchOccupancyWithoutReloadingTheDate() {
+        when(gymSessionRepository.findByDate(DATE)).thenReturn(List.of(session("s1", 5, 1), session("s2", 2, 1)));
+        timetableCache.sessionsOn(DATE);
+
+        timetableCache.refresh(session("s1", 6, 2));
+
+        List<GymSession> sessions = timetableCache.sessionsOn(DATE);
+        assertEquals(6, sessions.get(0).getCurrentReservations());
+        assertEquals(2, sessions.get(1).getCurrentReservations());
+        verify(gymSessionRepository, times(1)).findByDate(DATE);
+    }
+
+    @Test
+    void shouldIgnoreOlderCopyArrivingLate() {
+        when(gymSessionRepository.findByDate(DATE)).thenReturn(List.of(session("s1", 5, 1)));
+        timetableCache.sessionsOn(DATE);
+
+        timetableCache.refresh(session("s1", 7, 3));
+        timetableCache.refresh(session("s1", 6, 2));
+
+        assertEquals(7, timetableCache.sessionsOn(DATE).get(0).getCurrentReservations());
+    }
+
+    @Test
+    void shouldReloadDateWhenRefreshedSessionIsNotCached() {
+        when(gymSessionRepository.findByDate(DATE)).thenReturn(List.of(session("s1", 5, 1)));
+        timetableCache.sessionsOn(DATE);
+
+        timetableCache.refresh(session("s9", 1, 1));
+        timetableCache.sessionsOn(DATE);
+
+        verify(gymSessionRepository, times(2)).findByDate(DATE);
+    }
+
+    @Test
+    void shouldNotLoadDatesNobodyAskedFor() {
+        timetableCache.refresh(session("s1", 6, 2));
+
+        verifyNoInteractions(gymSessionRepository);
+    }
+
+    @Test
+    void shouldExcludeSessionsStartingExactlyAtTheBounds() {
+        GymSession early = session("s1", 0, 0);
+        GymSession middle = session("s2", 0, 0);
+        middle.setStartTime(LocalTime.of(8, 0));
+        GymSession late = session("s3", 0, 0);
+        late.setStartTime(LocalTime.of(9, 0));
+        when(gymSessionRepository.findByDate(DATE)).thenReturn(List.of(early, middle, late));
+
+        List<GymSession> sessions = timetableCache.sessionsOn(DATE, LocalTime.of(7, 0), LocalTime.of(9, 0));
+
+        assertEquals(List.of(middle), sessions);
+    }
+
+    private GymSession session(String id, int currentReservations, long occupancyVersion) {
+        GymSession gymSession = new GymSession();
+        gymSession.setId(id);
+        gymSession.setDate(DATE);
+        gymSession.setStartTime(LocalTime.of(7, 0));
+        gymSession.setCurrentReservations(currentReservations);
+        gymSession.setOccupancyVersion(occupancyVersion);
+        return gymSession;
+    }
+}
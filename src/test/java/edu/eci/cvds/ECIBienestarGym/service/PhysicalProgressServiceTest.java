@@ -7,8 +7,11 @@ import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.ExerciseType;
 import edu.eci.cvds.ECIBienestarGym.enums.MuscleGroup;
 import edu.eci.cvds.ECIBienestarGym.enums.Role;
+import edu.eci.cvds.ECIBienestarGym.enums.TrendInterval;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressTrend;
 import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.repository.PhysicalProgressRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,11 +22,14 @@ import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -33,6 +39,9 @@ public class PhysicalProgressServiceTest {
     @Mock
     private PhysicalProgressRepository physicalProgressRepository;
 
+    @Mock
+    private ProgressSummaryService progressSummaryService;
+
     @InjectMocks
     private PhysicalProgressService physicalProgressService;
 
@@ -41,6 +50,30 @@ public class PhysicalProgressServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void ShouldPageByRegistrationDateAndIdFromCursor() throws GYMException {
+        PhysicalProgress first = new PhysicalProgress();
+        first.setId("p2");
+        first.setRegistrationDate(LocalDate.of(2025, 5, 12));
+        PhysicalProgress second = new PhysicalProgress();
+        second.setId("p3");
+        second.setRegistrationDate(LocalDate.of(2025, 5, 13));
+        when(physicalProgressRepository.findPageAfter(LocalDate.of(2025, 5, 12), "p1", 2)).thenReturn(List.of(first, second));
+
+        CursorPage<PhysicalProgress> page = physicalProgressService.getPhysicalProgressPage("2025-05-12_p1", 1);
+
+        assertEquals(List.of(first), page.getItems());
+        assertEquals("2025-05-12_p2", page.getNextCursor());
+    }
+
+    @Test
+    void ShouldRejectMalformedPageCursor() {
+        GYMException exception = assertThrows(GYMException.class, () -> physicalProgressService.getPhysicalProgressPage("p1", 10));
+
+        assertEquals(GYMException.INVALID_CURSOR, exception.getMessage());
+        verifyNoInteractions(physicalProgressRepository);
+    }
+
     @Test
     void ShouldGetAllPhysicalProgress() {
         List<PhysicalProgress> mockProgress = Arrays.asList(new PhysicalProgress(), new PhysicalProgress());
@@ -124,6 +157,25 @@ public class PhysicalProgressServiceTest {
 
         assertEquals(mockProgress, createdProgress);
         verify(physicalProgressRepository, times(1)).save(any(PhysicalProgress.class));
+        verify(progressSummaryService).measurementRecorded(any(PhysicalProgress.class));
+    }
+
+    @Test
+    void shouldDateMeasurementsSentWithoutRegistrationDate() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId("user123");
+        RoutineDTO routineDTO = new RoutineDTO();
+        routineDTO.setId("routine123");
+        routineDTO.setExercises(List.of());
+        PhysicalProgressDTO progressDTO = new PhysicalProgressDTO();
+        progressDTO.setUserId(userDTO);
+        progressDTO.setRoutine(routineDTO);
+        when(physicalProgressRepository.save(any(PhysicalProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PhysicalProgress createdProgress = physicalProgressService.createPhysicalProgress(progressDTO);
+
+        // El campo de tiempo de la serie no puede quedar vacío
+        assertEquals(LocalDate.now(), createdProgress.getRegistrationDate());
     }
 
     @Test
@@ -173,4 +225,38 @@ public class PhysicalProgressServiceTest {
         assertEquals(3, result.size());
         verify(physicalProgressRepository, times(1)).findByUserIdAndRegistrationDateBetween(mockUser, startDate, endDate);
     }
+
+    @Test
+    void shouldComputeTrendSlopePerWeekFromBucketAverages() {
+        List<ProgressTrend.Point> points = List.of(
+                point(LocalDate.of(2025, 3, 3), 70),
+                point(LocalDate.of(2025, 3, 10), 69.5),
+                point(LocalDate.of(2025, 3, 24), 68.5));
+        when(physicalProgressRepository.downsample("user123", TrendInterval.WEEK, null, null)).thenReturn(points);
+
+        ProgressTrend trend = physicalProgressService.getProgressTrend("user123", TrendInterval.WEEK, null, null);
+
+        assertEquals(3, trend.getPoints().size());
+        assertEquals(-0.5, trend.getSlopePerWeek().get("weight"), 1e-9);
+        assertEquals(0, trend.getSlopePerWeek().get("height"), 1e-9);
+    }
+
+    @Test
+    void shouldOmitSlopeWithASinglePeriod() {
+        when(physicalProgressRepository.downsample("user123", TrendInterval.MONTH, null, null))
+                .thenReturn(List.of(point(LocalDate.of(2025, 3, 1), 70)));
+
+        ProgressTrend trend = physicalProgressService.getProgressTrend("user123", TrendInterval.MONTH, null, null);
+
+        assertTrue(trend.getSlopePerWeek().isEmpty());
+    }
+
+    private ProgressTrend.Point point(LocalDate period, double weight) {
+        Map<String, ProgressTrend.Metric> metrics = new LinkedHashMap<>();
+        for (String metric : ProgressTrend.METRICS) {
+            metrics.put(metric, new ProgressTrend.Metric(1.7, 1.7, 1.7));
+        }
+        metrics.put("weight", new ProgressTrend.Metric(weight, weight - 0.5, weight + 0.5));
+        return new ProgressTrend.Point(period, 2, metrics);
+    }
 }
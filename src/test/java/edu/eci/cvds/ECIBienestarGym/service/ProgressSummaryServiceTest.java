@@ -0,0 +1,114 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.PhysicalProgress;
+import edu.eci.cvds.ECIBienestarGym.model.ProgressSummary;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.repository.PhysicalProgressRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.ProgressSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ProgressSummaryServiceTest {
+
+    @Mock
+    private ProgressSummaryRepository progressSummaryRepository;
+
+    @Mock
+    private PhysicalProgressRepository physicalProgressRepository;
+
+    @InjectMocks
+    private ProgressSummaryService progressSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void shouldFoldMeasurementsRegardlessOfArrivalOrder() {
+        ProgressSummary summary = new ProgressSummary("user1");
+
+        summary.record(progress("user1", LocalDate.of(2025, 3, 10), 69));
+        summary.record(progress("user1", LocalDate.of(2025, 3, 24), 67.5f));
+        // Una medición atrasada reemplaza los primeros valores, no los últimos
+        summary.record(progress("user1", LocalDate.of(2025, 3, 3), 70));
+
+        assertEquals(3, summary.getEntries());
+        assertEquals(LocalDate.of(2025, 3, 3), summary.getFirstDate());
+        assertEquals(LocalDate.of(2025, 3, 24), summary.getLatestDate());
+        assertEquals(70, summary.getFirst().get("weight"));
+        assertEquals(67.5, summary.getLatest().get("weight"));
+        assertEquals(-2.5, summary.getDelta().get("weight"));
+        assertEquals("Estudiante user1", summary.getName());
+    }
+
+    @Test
+    void shouldNotFailTheWriteWhenTheSummaryCannotBeUpdated() {
+        PhysicalProgress progress = progress("user1", LocalDate.of(2025, 3, 3), 70);
+        doThrow(new DataAccessResourceFailureException("Mongo caído")).when(progressSummaryRepository).record(progress);
+
+        assertDoesNotThrow(() -> progressSummaryService.measurementRecorded(progress));
+    }
+
+    @Test
+    void shouldSkipMeasurementsWithoutUser() {
+        progressSummaryService.measurementRecorded(new PhysicalProgress());
+
+        verify(progressSummaryRepository, never()).record(any());
+    }
+
+    @Test
+    void shouldThrowWhenTheStudentHasNoSummary() {
+        when(progressSummaryRepository.findById("user1")).thenReturn(Optional.empty());
+
+        GYMException exception = assertThrows(GYMException.class, () -> progressSummaryService.getSummary("user1"));
+
+        assertEquals(GYMException.PROGRESS_SUMMARY_NOT_FOUND, exception.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRebuildOneSummaryPerStudent() {
+        when(physicalProgressRepository.streamAllByOrderByRegistrationDateAscIdAsc()).thenReturn(Stream.of(
+                progress("user1", LocalDate.of(2025, 3, 3), 70),
+                progress("user2", LocalDate.of(2025, 3, 3), 60),
+                progress("user1", LocalDate.of(2025, 3, 10), 69)));
+        when(progressSummaryRepository.replaceAll(any())).thenAnswer(invocation -> ((Collection<ProgressSummary>) invocation.getArgument(0)).size());
+
+        assertEquals(2, progressSummaryService.rebuild());
+
+        ArgumentCaptor<Collection<ProgressSummary>> written = ArgumentCaptor.forClass(Collection.class);
+        verify(progressSummaryRepository).replaceAll(written.capture());
+        Map<String, Long> entries = written.getValue().stream()
+                .collect(Collectors.toMap(ProgressSummary::getId, ProgressSummary::getEntries));
+        assertEquals(Map.of("user1", 2L, "user2", 1L), entries);
+    }
+
+    private PhysicalProgress progress(String userId, LocalDate date, float weight) {
+        PhysicalProgress progress = new PhysicalProgress();
+        progress.setUserId(new User(userId, "Estudiante " + userId, userId + "@mail.com"));
+        progress.setRegistrationDate(date);
+        progress.setWeight(weight);
+        progress.setHeight(1.7f);
+        return progress;
+    }
+}
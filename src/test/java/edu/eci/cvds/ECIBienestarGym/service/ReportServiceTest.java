@@ -5,6 +5,7 @@ import edu.eci.cvds.ECIBienestarGym.dto.ReportDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
 import edu.eci.cvds.ECIBienestarGym.enums.ReportType;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
+import edu.eci.cvds.ECIBienestarGym.model.CursorPage;
 import edu.eci.cvds.ECIBienestarGym.model.Report;
 
 import edu.eci.cvds.ECIBienestarGym.model.User;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -22,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +41,42 @@ public class ReportServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void shouldReturnFirstPageWithCursorWhenMoreReportsExist() {
+        List<Report> fetched = Arrays.asList(report("r1"), report("r2"), report("r3"));
+        when(reportRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(fetched);
+
+        CursorPage<Report> page = reportService.getReportsPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("r2", page.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        when(reportRepository.findByIdGreaterThanOrderByIdAsc("r2", Limit.of(3))).thenReturn(List.of(report("r3")));
+
+        CursorPage<Report> page = reportService.getReportsPage("r2", 2);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldClampPageSize() {
+        when(reportRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of());
+
+        reportService.getReportsPage(null, 10_000);
+
+        verify(reportRepository).findAllByOrderByIdAsc(Limit.of(CursorPage.MAX_SIZE + 1));
+    }
+
+    private Report report(String id) {
+        Report report = new Report();
+        report.setId(id);
+        return report;
+    }
+
     @Test
     void shouldReturnAllReports() {
         List<Report> reports = Arrays.asList(new Report(), new Report());
@@ -1,69 +1,74 @@
 package edu.eci.cvds.ECIBienestarGym.service;
 
-import edu.eci.cvds.ECIBienestarGym.model.GymSession;
-import edu.eci.cvds.ECIBienestarGym.model.Reservation;
-import edu.eci.cvds.ECIBienestarGym.model.User;
 import edu.eci.cvds.ECIBienestarGym.repository.ReservationRepository;
-import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 public class ReservationScheduleServiceTest {
     private ReservationRepository reservationRepository;
-    private UserRepository userRepository;
+    private StatsCounterService statsCounterService;
+    private MeterRegistry meterRegistry;
     private ReservationScheduleService reservationScheduleService;
 
     @BeforeEach
     void setUp() {
         reservationRepository = mock(ReservationRepository.class);
-        userRepository = mock(UserRepository.class);
-        reservationScheduleService = new ReservationScheduleService(reservationRepository, userRepository);
+        statsCounterService = mock(StatsCounterService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        reservationScheduleService = new ReservationScheduleService(reservationRepository, statsCounterService, meterRegistry);
     }
 
     @Test
-    void createWeeklyReservations_createsNewReservationsForPastReservations() {
+    void createWeeklyReservations_rollsForwardOnlyLastWeekWindow() {
         // Arrange
-        User user = new User();
-        user.setId("user1");
+        when(reservationRepository.rollForwardWeek(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(3L);
 
-        GymSession gymSession = new GymSession();
-        gymSession.setId("gym1");
+        // Act
+        long created = reservationScheduleService.createWeeklyReservations();
 
-        Reservation pastReservation = new Reservation();
-        pastReservation.setUserId(user);
-        pastReservation.setGymSessionId(gymSession);  // Ahora no es null
-        pastReservation.setReservationDate(LocalDateTime.now().minusDays(7)); // reserva pasada
-        pastReservation.setState(null);
+        // Assert
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reservationRepository, times(1)).rollForwardWeek(from.capture(), to.capture(), eq(500));
 
-        Reservation futureReservation = new Reservation();
-        futureReservation.setUserId(user);
-        futureReservation.setGymSessionId(gymSession);
-        futureReservation.setReservationDate(LocalDateTime.now().plusDays(7)); // reserva futura
-        futureReservation.setState(null);
+        assertEquals(3L, created);
+        assertEquals(Duration.ofDays(7), Duration.between(from.getValue(), to.getValue()));
+        assertTrue(!to.getValue().isAfter(LocalDateTime.now()));
+        verify(reservationRepository, never()).findAll();
+        verify(reservationRepository, never()).save(any());
+        verify(statsCounterService, times(1)).rebuildSessionReservations();
+    }
 
-        when(userRepository.findAll()).thenReturn(List.of(user));
-        when(reservationRepository.findByUserId(user)).thenReturn(List.of(pastReservation, futureReservation));
+    @Test
+    void createWeeklyReservations_leavesCountersAloneWhenNothingWasCreated() {
+        when(reservationRepository.rollForwardWeek(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(0L);
 
-        // Act
         reservationScheduleService.createWeeklyReservations();
 
-        // Assert
-        ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
-        verify(reservationRepository, times(1)).save(captor.capture());
+        verifyNoInteractions(statsCounterService);
+    }
+
+    @Test
+    void createWeeklyReservations_recordsDurationAndCreatedReservations() {
+        when(reservationRepository.rollForwardWeek(any(LocalDateTime.class), any(LocalDateTime.class), anyInt())).thenReturn(4L, 2L);
 
-        Reservation createdReservation = captor.getValue();
+        reservationScheduleService.createWeeklyReservations();
+        reservationScheduleService.createWeeklyReservations();
 
-        assertEquals(user, createdReservation.getUserId());
-        assertEquals(gymSession, createdReservation.getGymSessionId());
-        assertEquals(pastReservation.getReservationDate().plusWeeks(1), createdReservation.getReservationDate());
-        assertEquals(pastReservation.getState(), createdReservation.getState());
+        assertEquals(2, meterRegistry.get("gym.reservations.roll-forward").timer().count());
+        assertEquals(6.0, meterRegistry.get("gym.reservations.roll-forward.documents").counter().count());
     }
 }
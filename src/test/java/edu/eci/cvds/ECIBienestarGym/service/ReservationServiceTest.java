@@ -3,18 +3,24 @@ package edu.eci.cvds.ECIBienestarGym.service;
 import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
 import edu.eci.cvds.ECIBienestarGym.dto.UserDTO;
+import edu.eci.cvds.ECIBienestarGym.embeddables.SessionSlot;
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
 import edu.eci.cvds.ECIBienestarGym.enums.Status;
 import edu.eci.cvds.ECIBienestarGym.exceptions.GYMException;
 import edu.eci.cvds.ECIBienestarGym.model.GymSession;
 import edu.eci.cvds.ECIBienestarGym.model.Reservation;
 import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.model.WaitlistEntry;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
 import edu.eci.cvds.ECIBienestarGym.repository.ReservationRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.WaitlistRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,6 +30,10 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ReservationServiceTest {
@@ -31,6 +41,21 @@ public class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private GymSessionRepository gymSessionRepository;
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private GymSessionTimetableCache timetableCache;
+
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Mock
+    private SessionOccupancyBroadcaster occupancyBroadcaster;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -39,6 +64,16 @@ public class ReservationServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void shouldCountReservationsBySessionWithInclusiveDayWindow() {
+        when(reservationRepository.countReservationsBySession(LocalDateTime.of(2025, 5, 1, 0, 0), LocalDateTime.of(2025, 6, 1, 0, 0)))
+                .thenReturn(Map.of("session1", 4));
+
+        Map<String, Integer> counts = reservationService.countReservationsBySession(LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31));
+
+        assertEquals(Map.of("session1", 4), counts);
+    }
+
     @Test
     void shouldReturnAllReservations() {
         List<Reservation> mockReservations = Arrays.asList(new Reservation(), new Reservation());
@@ -64,26 +99,27 @@ public class ReservationServiceTest {
 
     @Test
     void shouldReturnReservationsByUserId() {
-        User user = new User();
+        User user = new User("user123");
         List<Reservation> mockReservations = Arrays.asList(new Reservation(), new Reservation());
-        when(reservationRepository.findByUserId(user)).thenReturn(mockReservations);
+        when(reservationRepository.findByUserIdId("user123")).thenReturn(mockReservations);
 
         List<Reservation> reservations = reservationService.getReservationsByUserId(user);
 
         assertEquals(2, reservations.size());
-        verify(reservationRepository, times(1)).findByUserId(user);
+        verify(reservationRepository, times(1)).findByUserIdId("user123");
     }
 
     @Test
     void shouldReturnReservationsByGymSession() {
         GymSession gymSession = new GymSession();
+        gymSession.setId("session123");
         List<Reservation> mockReservations = Arrays.asList(new Reservation(), new Reservation());
-        when(reservationRepository.findByGymSessionId(gymSession)).thenReturn(mockReservations);
+        when(reservationRepository.findByGymSessionIdId("session123")).thenReturn(mockReservations);
 
         List<Reservation> reservations = reservationService.getReservationsByGymSession(gymSession);
 
         assertEquals(2, reservations.size());
-        verify(reservationRepository, times(1)).findByGymSessionId(gymSession);
+        verify(reservationRepository, times(1)).findByGymSessionIdId("session123");
     }
 
     @Test
@@ -111,7 +147,7 @@ public class ReservationServiceTest {
     }
 
    @Test
-    void shouldCreateMainReservationSuccessfully() {
+    void shouldCreateMainReservationSuccessfully() throws GYMException {
         // Arrange
         ReservationDTO reservationDTO = new ReservationDTO();
         reservationDTO.setUserId(new UserDTO("user123", "John Doe", "johndoe@example.com"));
@@ -131,18 +167,19 @@ public class ReservationServiceTest {
         reservationDTO.setState(Status.APROBADO);
 
 
-        User user = new User("user123", "John Doe", "johndoe@example.com");
+        UserSummary user = new UserSummary("user123", "John Doe", "johndoe@example.com");
         GymSession gymSession = new GymSession();
         gymSession.setId("session123");
 
         Reservation mockReservation = new Reservation();
         mockReservation.setId("res123");
         mockReservation.setUserId(user);
-        mockReservation.setGymSessionId(gymSession);
+        mockReservation.setGymSessionId(SessionSlot.of(gymSession));
         mockReservation.setReservationDate(now);
         mockReservation.setState(Status.APROBADO);
 
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(mockReservation);
+        when(gymSessionRepository.reserveSpot(eq("session123"), any(UserSummary.class))).thenReturn(Optional.of(gymSession));
+        when(reservationRepository.insert(anyList())).thenReturn(List.of(mockReservation));
 
         // Act
         Reservation createdReservation = reservationService.createReservation(reservationDTO);
@@ -156,7 +193,7 @@ public class ReservationServiceTest {
     }
 
     @Test
-    void shouldCreateRecurringReservationsAfterMainReservation() {
+    void shouldCreateRecurringReservationsAfterMainReservation() throws GYMException {
         ReservationDTO reservationDTO = new ReservationDTO();
         reservationDTO.setUserId(new UserDTO("user123", "John Doe", "johndoe@example.com"));
         reservationDTO.setGymSessionId(new GymSessionDTO(
@@ -174,22 +211,93 @@ public class ReservationServiceTest {
         reservationDTO.setReservationDate(now);
         reservationDTO.setState(Status.APROBADO);
 
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(new Reservation());
+        GymSession gymSession = new GymSession();
+        gymSession.setId("session123");
+        when(gymSessionRepository.reserveSpot(eq("session123"), any(UserSummary.class))).thenReturn(Optional.of(gymSession));
+        when(reservationRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         reservationService.createReservation(reservationDTO);
 
         // Assert
-        ArgumentCaptor<Reservation> captor = ArgumentCaptor.forClass(Reservation.class);
-        verify(reservationRepository, times(6)).save(captor.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Reservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository, times(1)).insert(captor.capture());
+        verify(reservationRepository, never()).save(any(Reservation.class));
 
-        List<Reservation> savedReservations = captor.getAllValues();
+        List<Reservation> savedReservations = captor.getValue();
 
+        assertEquals(6, savedReservations.size());
+        String seriesId = savedReservations.get(0).getSeriesId();
         for (int i = 0; i < 6; i++) {
             assertEquals(now.plusWeeks(i), savedReservations.get(i).getReservationDate());
+            assertEquals(seriesId, savedReservations.get(i).getSeriesId());
         }
     }
 
+    @Test
+    void shouldReleaseAdmittedSeatWhenSeriesInsertFails() {
+        GymSession gymSession = fullSession("session1");
+        when(gymSessionRepository.reserveSpot(eq("session1"), any(UserSummary.class))).thenReturn(Optional.of(gymSession));
+        when(reservationRepository.insert(anyList())).thenThrow(new DuplicateKeyException("E11000"));
+        when(gymSessionRepository.releaseSpot("session1", "user2")).thenReturn(Optional.of(gymSession));
+        when(waitlistRepository.pollFirst("session1")).thenReturn(Optional.empty());
+
+        assertThrows(DuplicateKeyException.class, () -> reservationService.createReservation(waitlistRequest("session1")));
+
+        verify(gymSessionRepository).releaseSpot("session1", "user2");
+        verify(statsCounterService, never()).reservationsAdded(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldRejectReservationWhenGymSessionIsFull() {
+        ReservationDTO reservationDTO = new ReservationDTO();
+        reservationDTO.setUserId(new UserDTO("user123", "John Doe", "johndoe@example.com"));
+        reservationDTO.setGymSessionId(new GymSessionDTO(
+                "session123",
+                new UserDTO("coach123", "Jane Doe", "janedoe@example.com"),
+                LocalDate.now(),
+                LocalTime.of(9, 0),
+                LocalTime.of(10, 0),
+                20,
+                20,
+                Collections.emptyList(),
+                Collections.emptyList()
+        ));
+        reservationDTO.setReservationDate(LocalDateTime.now());
+        reservationDTO.setState(Status.APROBADO);
+
+        when(gymSessionRepository.reserveSpot(eq("session123"), any(UserSummary.class))).thenReturn(Optional.empty());
+        when(gymSessionRepository.findById("session123")).thenReturn(Optional.of(fullSession("session123")));
+
+        GYMException exception = assertThrows(
+                GYMException.class,
+                () -> reservationService.createReservation(reservationDTO)
+        );
+
+        assertEquals(GYMException.GYM_SESION_FULL, exception.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void shouldRejectReservationWhenGymSessionDoesNotExist() {
+        ReservationDTO reservationDTO = new ReservationDTO();
+        reservationDTO.setUserId(new UserDTO("user123", "John Doe", "johndoe@example.com"));
+        reservationDTO.setGymSessionId(new GymSessionDTO());
+        reservationDTO.getGymSessionId().setId("missing");
+
+        when(gymSessionRepository.reserveSpot(eq("missing"), any(UserSummary.class))).thenReturn(Optional.empty());
+        when(gymSessionRepository.findById("missing")).thenReturn(Optional.empty());
+
+        GYMException exception = assertThrows(
+                GYMException.class,
+                () -> reservationService.createReservation(reservationDTO)
+        );
+
+        assertEquals(GYMException.GYM_SESION_NOT_FOUND, exception.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
     @Test
     void shouldUpdateReservationSuccessfully() throws GYMException {
         String id = "res123";
@@ -213,6 +321,7 @@ public class ReservationServiceTest {
         mockReservation.setId(id);
 
         when(reservationRepository.findById(id)).thenReturn(Optional.of(mockReservation));
+        when(gymSessionRepository.reserveSpot(eq("session123"), any(UserSummary.class))).thenReturn(Optional.of(fullSession("session123")));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(mockReservation);
 
         Reservation updatedReservation = reservationService.updateReservation(id, reservationDTO);
@@ -237,6 +346,62 @@ public class ReservationServiceTest {
         verify(reservationRepository, times(1)).delete(mockReservation);
     }
 
+    @Test
+    void shouldDeleteReservationSeriesInOneOperation() throws GYMException {
+        when(reservationRepository.deleteBySeriesId("series123")).thenReturn(6L);
+
+        long deleted = reservationService.deleteReservationSeries("series123");
+
+        assertEquals(6L, deleted);
+        verify(reservationRepository, times(1)).deleteBySeriesId("series123");
+        verify(reservationRepository, never()).delete(any(Reservation.class));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenDeletingNonExistentSeries() {
+        when(reservationRepository.deleteBySeriesId("missing")).thenReturn(0L);
+
+        GYMException exception = assertThrows(
+                GYMException.class,
+                () -> reservationService.deleteReservationSeries("missing")
+        );
+
+        assertEquals(GYMException.RESERVE_NOT_FOUND, exception.getMessage());
+    }
+
+    @Test
+    void shouldRescheduleReservationSeriesInOneOperation() throws GYMException {
+        when(reservationRepository.shiftSeriesByDays("series123", 7)).thenReturn(6L);
+
+        long updated = reservationService.rescheduleReservationSeries("series123", 7);
+
+        assertEquals(6L, updated);
+        verify(reservationRepository, times(1)).shiftSeriesByDays("series123", 7);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenReschedulingNonExistentSeries() {
+        when(reservationRepository.shiftSeriesByDays("missing", 7)).thenReturn(0L);
+
+        GYMException exception = assertThrows(
+                GYMException.class,
+                () -> reservationService.rescheduleReservationSeries("missing", 7)
+        );
+
+        assertEquals(GYMException.RESERVE_NOT_FOUND, exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectSeriesShiftThatIsNotWholeWeeks() {
+        GYMException exception = assertThrows(
+                GYMException.class,
+                () -> reservationService.rescheduleReservationSeries("series123", 2)
+        );
+
+        assertEquals(GYMException.SERIES_SHIFT_NOT_WEEKLY, exception.getMessage());
+        verify(reservationRepository, never()).shiftSeriesByDays(anyString(), anyInt());
+    }
+
     @Test
     void shouldThrowExceptionWhenReservationNotFoundById() {
         String id = "non-existent-id";
@@ -281,4 +446,303 @@ public class ReservationServiceTest {
         assertEquals(GYMException.RESERVE_NOT_FOUND, exception.getMessage());
         verify(reservationRepository, times(1)).findById(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPromoteOldestWaitlistEntryWhenReservationIsDeleted() throws GYMException {
+        UserSummary leaving = new UserSummary("user1", "Ana", "ana@mail.com");
+        UserSummary waiting = new UserSummary("user2", "Luis", "luis@mail.com");
+        Reservation reservation = reservation("res1", leaving, "session1", Status.APROBADO);
+        GymSession session = fullSession("session1");
+        LocalDateTime reservationDate = LocalDateTime.of(2025, 5, 12, 7, 0);
+        WaitlistEntry entry = new WaitlistEntry("wait1", "session1", waiting, reservationDate, Status.PENDIENTE, LocalDateTime.now(), LocalDate.of(2025, 5, 12));
+
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
+        when(gymSessionRepository.releaseSpot("session1", "user1")).thenReturn(Optional.of(session));
+        when(waitlistRepository.pollFirst("session1")).thenReturn(Optional.of(entry));
+        when(gymSessionRepository.reserveSpot("session1", waiting)).thenReturn(Optional.of(session));
+        when(reservationRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reservationService.deleteReservation("res1");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Reservation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository).insert(captor.capture());
+        assertEquals(waiting, captor.getValue().get(0).getUserId());
+        assertEquals(reservationDate, captor.getValue().get(0).getReservationDate());
+        assertEquals(Status.PENDIENTE, captor.getValue().get(0).getState());
+        verify(statsCounterService).reservationsAdded("session1", 6);
+        verify(waitlistRepository, never()).insert(any(WaitlistEntry.class));
+        // La salida y la promoción se publican; el broadcaster las agrupa en un solo evento
+        verify(occupancyBroadcaster, times(2)).sessionChanged(session);
+    }
+
+    @Test
+    void shouldKeepSpotWhileUserHasOtherActiveReservationsInSession() throws GYMException {
+        UserSummary user = new UserSummary("user1", "Ana", "ana@mail.com");
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation("res1", user, "session1", Status.APROBADO)));
+        when(reservationRepository.existsByUserIdIdAndGymSessionIdIdAndStateNot("user1", "session1", Status.RECHAZADO)).thenReturn(true);
+
+        reservationService.deleteReservation("res1");
+
+        verify(gymSessionRepository, never()).releaseSpot(any(), any());
+        verifyNoInteractions(waitlistRepository);
+    }
+
+    @Test
+    void shouldRequeueWaitlistEntryWhenSpotWasTakenByDirectReservation() throws GYMException {
+        UserSummary waiting = new UserSummary("user2", "Luis", "luis@mail.com");
+        WaitlistEntry entry = new WaitlistEntry("wait1", "session1", waiting, LocalDateTime.now(), Status.PENDIENTE, LocalDateTime.now(), LocalDate.of(2025, 5, 12));
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(
+                reservation("res1", new UserSummary("user1", "Ana", "ana@mail.com"), "session1", Status.APROBADO)));
+        when(gymSessionRepository.releaseSpot("session1", "user1")).thenReturn(Optional.of(fullSession("session1")));
+        when(waitlistRepository.pollFirst("session1")).thenReturn(Optional.of(entry));
+        when(gymSessionRepository.reserveSpot("session1", waiting)).thenReturn(Optional.empty());
+
+        reservationService.deleteReservation("res1");
+
+        verify(waitlistRepository).insert(entry);
+        verify(reservationRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void shouldReleaseSpotWhenReservationIsRejected() throws GYMException {
+        UserSummary user = new UserSummary("user1", "Ana", "ana@mail.com");
+        Reservation reservation = reservation("res1", user, "session1", Status.PENDIENTE);
+        ReservationDTO rejected = new ReservationDTO();
+        rejected.setUserId(new UserDTO("user1", "Ana", "ana@mail.com"));
+        rejected.setGymSessionId(new GymSessionDTO("session1", new UserDTO("coach1", "Laura", "laura@mail.com"),
+                LocalDate.now(), LocalTime.of(7, 0), LocalTime.of(8, 0), 1, 1, Collections.emptyList(), Collections.emptyList()));
+        rejected.setReservationDate(LocalDateTime.now());
+        rejected.setState(Status.RECHAZADO);
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(gymSessionRepository.releaseSpot("session1", "user1")).thenReturn(Optional.of(fullSession("session1")));
+
+        reservationService.updateReservation("res1", rejected);
+
+        verify(gymSessionRepository).releaseSpot("session1", "user1");
+        verify(waitlistRepository).pollFirst("session1");
+    }
+
+    @Test
+    void shouldRejectReservationWhenUserAlreadyHoldsSeat() {
+        UserSummary user = new UserSummary("user2", "Luis", "luis@mail.com");
+        GymSession session = fullSession("session1");
+        session.setCapacity(20);
+        session.enroll(user);
+        ReservationDTO reservationDTO = waitlistRequest("session1");
+        when(gymSessionRepository.reserveSpot(eq("session1"), any(UserSummary.class))).thenReturn(Optional.empty());
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(session));
+
+        GYMException exception = assertThrows(GYMException.class, () -> reservationService.createReservation(reservationDTO));
+
+        assertEquals(GYMException.USER_ALREADY_IN_SESSION, exception.getMessage());
+        verify(reservationRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void shouldAdmitIntoNewSessionAndReleaseOldWhenReservationIsMoved() throws GYMException {
+        UserSummary user = new UserSummary("user1", "Ana", "ana@mail.com");
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation("res1", user, "session1", Status.APROBADO)));
+        when(gymSessionRepository.reserveSpot(eq("session2"), any(UserSummary.class))).thenReturn(Optional.of(fullSession("session2")));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(gymSessionRepository.releaseSpot("session1", "user1")).thenReturn(Optional.of(fullSession("session1")));
+
+        reservationService.updateReservation("res1", updateRequest("session2", Status.APROBADO));
+
+        verify(gymSessionRepository).reserveSpot(eq("session2"), any(UserSummary.class));
+        verify(gymSessionRepository).releaseSpot("session1", "user1");
+    }
+
+    @Test
+    void shouldNotMoveReservationIntoFullSession() {
+        UserSummary user = new UserSummary("user1", "Ana", "ana@mail.com");
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation("res1", user, "session1", Status.APROBADO)));
+        when(gymSessionRepository.reserveSpot(eq("session2"), any(UserSummary.class))).thenReturn(Optional.empty());
+        when(gymSessionRepository.findById("session2")).thenReturn(Optional.of(fullSession("session2")));
+
+        GYMException exception = assertThrows(GYMException.class,
+                () -> reservationService.updateReservation("res1", updateRequest("session2", Status.APROBADO)));
+
+        assertEquals(GYMException.GYM_SESION_FULL, exception.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(gymSessionRepository, never()).releaseSpot(any(), any());
+    }
+
+    @Test
+    void shouldTakeSeatAgainWhenRejectedReservationIsReactivated() throws GYMException {
+        UserSummary user = new UserSummary("user1", "Ana", "ana@mail.com");
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(reservation("res1", user, "session1", Status.RECHAZADO)));
+        when(gymSessionRepository.reserveSpot(eq("session1"), any(UserSummary.class))).thenReturn(Optional.of(fullSession("session1")));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reservationService.updateReservation("res1", updateRequest("session1", Status.APROBADO));
+
+        verify(gymSessionRepository).reserveSpot(eq("session1"), any(UserSummary.class));
+        verify(gymSessionRepository, never()).releaseSpot(any(), any());
+    }
+
+    @Test
+    void shouldDropWaitlistEntryWhenStudentAlreadyHoldsSeat() throws GYMException {
+        UserSummary waiting = new UserSummary("user2", "Luis", "luis@mail.com");
+        GymSession session = fullSession("session1");
+        session.enroll(waiting);
+        WaitlistEntry entry = new WaitlistEntry("wait1", "session1", waiting, LocalDateTime.now(), Status.PENDIENTE, LocalDateTime.now(), LocalDate.of(2025, 5, 12));
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(
+                reservation("res1", new UserSummary("user1", "Ana", "ana@mail.com"), "session1", Status.APROBADO)));
+        when(gymSessionRepository.releaseSpot("session1", "user1")).thenReturn(Optional.of(session));
+        when(waitlistRepository.pollFirst("session1")).thenReturn(Optional.of(entry));
+        when(gymSessionRepository.reserveSpot("session1", waiting)).thenReturn(Optional.empty());
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(session));
+
+        reservationService.deleteReservation("res1");
+
+        verify(waitlistRepository, never()).insert(any(WaitlistEntry.class));
+        verify(reservationRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void shouldReleaseSeriesSpotOnceWhenSeriesIsDeleted() throws GYMException {
+        UserSummary user = new UserSummary("user1", "Ana", "ana@mail.com");
+        when(reservationRepository.findBySeriesId("series1")).thenReturn(List.of(
+                reservation("res1", user, "session1", Status.APROBADO),
+                reservation("res2", user, "session1", Status.APROBADO)));
+        when(reservationRepository.deleteBySeriesId("series1")).thenReturn(2L);
+
+        reservationService.deleteReservationSeries("series1");
+
+        verify(gymSessionRepository, times(1)).releaseSpot("session1", "user1");
+    }
+
+    @Test
+    void shouldQueueStudentWhenSessionIsFull() throws GYMException {
+        ReservationDTO reservationDTO = waitlistRequest("session1");
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(fullSession("session1")));
+        when(waitlistRepository.insert(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WaitlistEntry entry = reservationService.joinWaitlist(reservationDTO);
+
+        assertEquals("session1", entry.getGymSessionId());
+        assertEquals("user2", entry.getUser().getId());
+        assertEquals(LocalDate.of(2025, 5, 12), entry.getSessionDate());
+        verify(waitlistRepository, never()).pollFirst(any());
+    }
+
+    @Test
+    void shouldRejectWaitlistWhenStudentAlreadyHoldsSeat() {
+        GymSession session = fullSession("session1");
+        session.enroll(new UserSummary("user2", "Luis", "luis@mail.com"));
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(session));
+
+        GYMException exception = assertThrows(GYMException.class, () -> reservationService.joinWaitlist(waitlistRequest("session1")));
+
+        assertEquals(GYMException.USER_ALREADY_IN_SESSION, exception.getMessage());
+        verify(waitlistRepository, never()).insert(any(WaitlistEntry.class));
+    }
+
+    @Test
+    void shouldKeepNewEntryWhenRequeueFindsStudentQueuedAgain() throws GYMException {
+        UserSummary waiting = new UserSummary("user2", "Luis", "luis@mail.com");
+        WaitlistEntry entry = new WaitlistEntry("wait1", "session1", waiting, LocalDateTime.now(), Status.PENDIENTE, LocalDateTime.now(), LocalDate.of(2025, 5, 12));
+        when(reservationRepository.findById("res1")).thenReturn(Optional.of(
+                reservation("res1", new UserSummary("user1", "Ana", "ana@mail.com"), "session1", Status.APROBADO)));
+        when(gymSessionRepository.releaseSpot("session1", "user1")).thenReturn(Optional.of(fullSession("session1")));
+        when(waitlistRepository.pollFirst("session1")).thenReturn(Optional.of(entry));
+        when(gymSessionRepository.reserveSpot("session1", waiting)).thenReturn(Optional.empty());
+        when(waitlistRepository.insert(entry)).thenThrow(new DuplicateKeyException("session_user"));
+
+        reservationService.deleteReservation("res1");
+
+        verify(waitlistRepository).insert(entry);
+        verify(reservationRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void shouldPromoteRightAwayWhenSpotFreedWhileJoining() throws GYMException {
+        GymSession freed = fullSession("session1");
+        freed.setCurrentReservations(0);
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(fullSession("session1"))).thenReturn(Optional.of(freed));
+        when(waitlistRepository.insert(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reservationService.joinWaitlist(waitlistRequest("session1"));
+
+        verify(waitlistRepository).pollFirst("session1");
+    }
+
+    @Test
+    void shouldRejectWaitlistWhenSessionHasSpots() {
+        GymSession session = fullSession("session1");
+        session.setCurrentReservations(0);
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(session));
+
+        GYMException exception = assertThrows(GYMException.class, () -> reservationService.joinWaitlist(waitlistRequest("session1")));
+
+        assertEquals(GYMException.GYM_SESION_NOT_FULL, exception.getMessage());
+        verify(waitlistRepository, never()).insert(any(WaitlistEntry.class));
+    }
+
+    @Test
+    void shouldRejectDuplicatedWaitlistEntry() {
+        when(gymSessionRepository.findById("session1")).thenReturn(Optional.of(fullSession("session1")));
+        when(waitlistRepository.insert(any(WaitlistEntry.class))).thenThrow(new DuplicateKeyException("session_user"));
+
+        GYMException exception = assertThrows(GYMException.class, () -> reservationService.joinWaitlist(waitlistRequest("session1")));
+
+        assertEquals(GYMException.WAITLIST_ALREADY_JOINED, exception.getMessage());
+    }
+
+    @Test
+    void shouldComputeWaitlistPositionFromOlderEntries() {
+        LocalDateTime requestedAt = LocalDateTime.now();
+        WaitlistEntry entry = new WaitlistEntry("wait1", "session1", null, null, null, requestedAt, null);
+        when(waitlistRepository.countByGymSessionIdAndRequestedAtLessThan("session1", requestedAt)).thenReturn(3L);
+
+        assertEquals(4L, reservationService.getWaitlistPosition(entry));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenLeavingMissingWaitlistEntry() {
+        when(waitlistRepository.findById("missing")).thenReturn(Optional.empty());
+
+        GYMException exception = assertThrows(GYMException.class, () -> reservationService.leaveWaitlist("missing"));
+
+        assertEquals(GYMException.WAITLIST_ENTRY_NOT_FOUND, exception.getMessage());
+    }
+
+    private Reservation reservation(String id, UserSummary user, String sessionId, Status state) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setUserId(user);
+        reservation.setGymSessionId(new SessionSlot(sessionId));
+        reservation.setState(state);
+        return reservation;
+    }
+
+    private GymSession fullSession(String id) {
+        GymSession session = new GymSession();
+        session.setId(id);
+        session.setDate(LocalDate.of(2025, 5, 12));
+        session.setCapacity(1);
+        session.setCurrentReservations(1);
+        return session;
+    }
+
+    private ReservationDTO updateRequest(String sessionId, Status state) {
+        ReservationDTO reservationDTO = waitlistRequest(sessionId);
+        reservationDTO.setUserId(new UserDTO("user1", "Ana", "ana@mail.com"));
+        reservationDTO.getGymSessionId().setCoachId(new UserDTO("coach1", "Laura", "laura@mail.com"));
+        reservationDTO.setState(state);
+        return reservationDTO;
+    }
+
+    private ReservationDTO waitlistRequest(String sessionId) {
+        ReservationDTO reservationDTO = new ReservationDTO();
+        reservationDTO.setUserId(new UserDTO("user2", "Luis", "luis@mail.com"));
+        GymSessionDTO gymSessionDTO = new GymSessionDTO();
+        gymSessionDTO.setId(sessionId);
+        reservationDTO.setGymSessionId(gymSessionDTO);
+        reservationDTO.setReservationDate(LocalDateTime.of(2025, 5, 12, 7, 0));
+        reservationDTO.setState(Status.PENDIENTE);
+        return reservationDTO;
+    }
+}
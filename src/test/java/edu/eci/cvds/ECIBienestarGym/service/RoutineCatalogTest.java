@@ -0,0 +1,92 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.Exercise;
+import edu.eci.cvds.ECIBienestarGym.enums.DifficultyLevel;
+import edu.eci.cvds.ECIBienestarGym.enums.ExerciseType;
+import edu.eci.cvds.ECIBienestarGym.enums.MuscleGroup;
+import edu.eci.cvds.ECIBienestarGym.model.Routine;
+import edu.eci.cvds.ECIBienestarGym.projection.RoutineView;
+import edu.eci.cvds.ECIBienestarGym.repository.RoutineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class RoutineCatalogTest {
+
+    private final RoutineRepository routineRepository = mock(RoutineRepository.class);
+    private final RoutineCatalog catalog = new RoutineCatalog(routineRepository, true, Duration.ofMinutes(10));
+
+    @BeforeEach
+    void setUp() {
+        when(routineRepository.findAll()).thenReturn(List.of(
+                routine("pierna", "Pierna", DifficultyLevel.MEDIANO, ExerciseType.FUERZA, MuscleGroup.CUADRICEPS, MuscleGroup.GLUTEOS, MuscleGroup.GEMELOS),
+                routine("gluteo", "Glúteo", DifficultyLevel.FACIL, ExerciseType.FUERZA, MuscleGroup.GLUTEOS),
+                routine("cardio", "Cardio", DifficultyLevel.MEDIANO, ExerciseType.CARDIO, MuscleGroup.CUADRICEPS)));
+    }
+
+    @Test
+    void shouldMatchRoutinesTrainingEveryRequestedGroup() {
+        int mask = Routine.maskOf(List.of(MuscleGroup.CUADRICEPS, MuscleGroup.GLUTEOS));
+
+        assertEquals(List.of("pierna"), ids(catalog.search(mask, 0, DifficultyLevel.MEDIANO)));
+        assertEquals(List.of("pierna", "gluteo"), ids(catalog.search(Routine.maskOf(List.of(MuscleGroup.GLUTEOS)), 0, null)));
+        assertEquals(List.of("cardio"), ids(catalog.search(0, Routine.maskOf(List.of(ExerciseType.CARDIO)), null)));
+    }
+
+    @Test
+    void shouldAnswerEveryReadFromOneLoad() {
+        assertEquals(List.of("pierna", "gluteo", "cardio"), ids(catalog.all()));
+        assertEquals("gluteo", catalog.byId("gluteo").orElseThrow().getId());
+        assertTrue(catalog.byId("missing").isEmpty());
+        assertEquals(List.of("cardio"), ids(catalog.byName("Cardio")));
+        assertTrue(catalog.byName("Espalda").isEmpty());
+        assertEquals(List.of("pierna", "cardio"), ids(catalog.byDifficulty(DifficultyLevel.MEDIANO)));
+        assertEquals(List.of("Pierna", "Glúteo", "Cardio"), catalog.views().stream().map(RoutineView::getName).toList());
+
+        verify(routineRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldSwapInWritesWithoutReloading() {
+        List<Routine> before = catalog.byDifficulty(DifficultyLevel.MEDIANO);
+
+        catalog.routineSaved(routine("gluteo", "Glúteo avanzado", DifficultyLevel.DIFICIL, ExerciseType.POTENCIA, MuscleGroup.GLUTEOS));
+        catalog.routineSaved(routine("espalda", "Espalda", DifficultyLevel.MEDIANO, ExerciseType.FUERZA, MuscleGroup.ESPALDA));
+        catalog.routineDeleted("cardio");
+
+        assertEquals(List.of("pierna", "gluteo", "espalda"), ids(catalog.all()));
+        assertEquals(List.of("gluteo"), ids(catalog.search(0, 0, DifficultyLevel.DIFICIL)));
+        assertEquals(List.of("pierna", "espalda"), ids(catalog.byDifficulty(DifficultyLevel.MEDIANO)));
+        assertTrue(catalog.byName("Glúteo").isEmpty());
+        // Quien ya tenía la lista anterior sigue viendo la misma foto del catálogo
+        assertEquals(List.of("pierna", "cardio"), ids(before));
+        verify(routineRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldHandOutImmutableLists() {
+        assertThrows(UnsupportedOperationException.class, () -> catalog.all().clear());
+        assertThrows(UnsupportedOperationException.class, () -> catalog.byDifficulty(DifficultyLevel.MEDIANO).clear());
+    }
+
+    private static Routine routine(String id, String name, DifficultyLevel difficulty, ExerciseType type, MuscleGroup... muscleGroups) {
+        Routine routine = new Routine();
+        routine.setId(id);
+        routine.setName(name);
+        routine.setDifficulty(difficulty);
+        routine.setExercises(List.of(new Exercise(name, 12, 4, 60, type, List.of(muscleGroups))));
+        routine.refreshMasks();
+        return routine;
+    }
+
+    private static List<String> ids(List<Routine> routines) {
+        return routines.stream().map(Routine::getId).toList();
+    }
+}
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +29,9 @@ public class RoutineServiceTest {
     @Mock
     private RoutineRepository routineRepository;
 
+    @Mock
+    private RoutineCatalog routineCatalog;
+
     @InjectMocks
     private RoutineService routineService;
 
@@ -192,4 +196,62 @@ public class RoutineServiceTest {
         assertEquals(GYMException.ROUTINE_NOT_FOUND, exception.getMessage());
         verify(routineRepository, times(1)).findById(id);
     }
+
+    @Test
+    void shouldComputeMasksWhenCreatingRoutine() {
+        RoutineDTO routineDTO = new RoutineDTO();
+        routineDTO.setName("Pierna");
+        routineDTO.setDifficulty(DifficultyLevel.MEDIANO);
+        routineDTO.setExercises(List.of(
+                new ExerciseDTO("Sentadilla", 12, 4, 60, ExerciseType.FUERZA, List.of(MuscleGroup.CUADRICEPS, MuscleGroup.GLUTEOS)),
+                new ExerciseDTO("Elevación de talones", 20, 3, 30, ExerciseType.RESISTENCIA, List.of(MuscleGroup.GEMELOS))));
+        when(routineRepository.save(any(Routine.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Routine routine = routineService.createRoutine(routineDTO);
+
+        assertEquals((1 << MuscleGroup.CUADRICEPS.ordinal()) | (1 << MuscleGroup.GLUTEOS.ordinal()) | (1 << MuscleGroup.GEMELOS.ordinal()),
+                routine.getMuscleGroupMask());
+        assertEquals((1 << ExerciseType.FUERZA.ordinal()) | (1 << ExerciseType.RESISTENCIA.ordinal()), routine.getExerciseTypeMask());
+        verify(routineCatalog).routineSaved(routine);
+    }
+
+    @Test
+    void shouldSearchRoutinesInMemoryWhenTheIndexIsEnabled() {
+        List<Routine> matches = List.of(new Routine());
+        int muscleGroupMask = Routine.maskOf(List.of(MuscleGroup.CUADRICEPS, MuscleGroup.GLUTEOS));
+        when(routineCatalog.isEnabled()).thenReturn(true);
+        when(routineCatalog.search(muscleGroupMask, 0, DifficultyLevel.MEDIANO)).thenReturn(matches);
+
+        List<Routine> routines = routineService.searchRoutines(List.of(MuscleGroup.CUADRICEPS, MuscleGroup.GLUTEOS), null, DifficultyLevel.MEDIANO);
+
+        assertSame(matches, routines);
+        verify(routineRepository, never()).findByMasks(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldSearchRoutinesInMongoWhenTheIndexIsDisabled() {
+        int exerciseTypeMask = Routine.maskOf(List.of(ExerciseType.CARDIO));
+        when(routineRepository.findByMasks(0, exerciseTypeMask, null)).thenReturn(List.of(new Routine()));
+
+        List<Routine> routines = routineService.searchRoutines(List.of(), List.of(ExerciseType.CARDIO), null);
+
+        assertEquals(1, routines.size());
+        verify(routineCatalog, never()).search(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void shouldReadRoutinesFromTheCatalogWhenEnabled() throws GYMException {
+        Routine routine = new Routine();
+        when(routineCatalog.isEnabled()).thenReturn(true);
+        when(routineCatalog.all()).thenReturn(List.of(routine));
+        when(routineCatalog.byId("routine123")).thenReturn(Optional.of(routine));
+        when(routineCatalog.byName("Cardio")).thenReturn(List.of(routine));
+        when(routineCatalog.byDifficulty(DifficultyLevel.FACIL)).thenReturn(List.of(routine));
+
+        assertEquals(List.of(routine), routineService.getAllRoutines());
+        assertSame(routine, routineService.getRoutineById("routine123"));
+        assertEquals(List.of(routine), routineService.getRoutinesByName("Cardio"));
+        assertEquals(List.of(routine), routineService.getRoutinesByDifficulty(DifficultyLevel.FACIL));
+        verifyNoInteractions(routineRepository);
+    }
 }
@@ -0,0 +1,128 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SessionOccupancyBroadcasterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 5, 19);
+
+    private final SessionOccupancyBroadcaster broadcaster =
+            new SessionOccupancyBroadcaster(mock(GymSessionTimetableCache.class), Duration.ofMinutes(30));
+
+    @Test
+    void shouldCoalesceBurstsIntoOneEventPerFlush() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(DATE, emitter);
+
+        broadcaster.sessionChanged(session("s1", DATE, 10));
+        broadcaster.sessionChanged(session("s1", DATE, 11));
+        broadcaster.sessionChanged(session("s2", DATE, 3));
+        broadcaster.flush();
+        broadcaster.flush();
+
+        assertEquals(1, emitter.events.size());
+        List<SessionOccupancyBroadcaster.Occupancy> occupancy = emitter.events.get(0);
+        assertEquals(2, occupancy.size());
+        SessionOccupancyBroadcaster.Occupancy s1 = occupancy.stream()
+                .filter(change -> change.gymSessionId().equals("s1")).findFirst().orElseThrow();
+        assertEquals(11, s1.currentReservations());
+        assertEquals(40, s1.capacity());
+    }
+
+    @Test
+    void shouldRecordChangesMadeWhileSnapshotIsRead() {
+        GymSessionTimetableCache timetableCache = mock(GymSessionTimetableCache.class);
+        SessionOccupancyBroadcaster subscribed = new SessionOccupancyBroadcaster(timetableCache, Duration.ofMinutes(30));
+        when(timetableCache.sessionsOn(DATE)).thenAnswer(invocation -> {
+            // Una reserva que llega mientras se arma el snapshot
+            subscribed.sessionChanged(session("s1", DATE, 12));
+            return List.of(session("s1", DATE, 11));
+        });
+
+        subscribed.subscribe(DATE);
+        CapturingEmitter emitter = new CapturingEmitter();
+        subscribed.register(DATE, emitter);
+        subscribed.flush();
+
+        assertEquals(1, emitter.events.size());
+        assertEquals(12, emitter.events.get(0).get(0).currentReservations());
+    }
+
+    @Test
+    void shouldOnlySendChangesOfTheStreamedDate() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(DATE, emitter);
+
+        broadcaster.sessionChanged(session("s1", DATE.plusDays(1), 10));
+        broadcaster.flush();
+
+        assertTrue(emitter.events.isEmpty());
+    }
+
+    @Test
+    void shouldMarkRemovedSessions() {
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(DATE, emitter);
+
+        broadcaster.sessionRemoved(session("s1", DATE, 10));
+        broadcaster.flush();
+
+        assertTrue(emitter.events.get(0).get(0).removed());
+    }
+
+    @Test
+    void shouldDropEmittersThatFailToSend() {
+        CapturingEmitter broken = new CapturingEmitter();
+        broken.failing = true;
+        broadcaster.register(DATE, broken);
+
+        broadcaster.sessionChanged(session("s1", DATE, 10));
+        broadcaster.flush();
+        broken.failing = false;
+        broadcaster.sessionChanged(session("s1", DATE, 11));
+        broadcaster.flush();
+
+        assertTrue(broken.events.isEmpty());
+    }
+
+    private static GymSession session(String id, LocalDate date, int reservations) {
+        GymSession session = new GymSession();
+        session.setId(id);
+        session.setDate(date);
+        session.setStartTime(LocalTime.of(7, 0));
+        session.setEndTime(LocalTime.of(8, 30));
+        session.setCapacity(40);
+        session.setCurrentReservations(reservations);
+        return session;
+    }
+
+    private static class CapturingEmitter extends SseEmitter {
+        private final List<List<SessionOccupancyBroadcaster.Occupancy>> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Conexión cerrada");
+            }
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof List)
+                    .forEach(part -> events.add((List<SessionOccupancyBroadcaster.Occupancy>) part.getData()));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import edu.eci.cvds.ECIBienestarGym.enums.CounterKind;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.StatsCounter;
+import edu.eci.cvds.ECIBienestarGym.repository.GymSessionRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.ReservationRepository;
+import edu.eci.cvds.ECIBienestarGym.repository.StatsCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StatsCounterServiceTest {
+
+    @Mock
+    private StatsCounterRepository statsCounterRepository;
+
+    @Mock
+    private GymSessionRepository gymSessionRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @InjectMocks
+    private StatsCounterService statsCounterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void shouldIncrementCoachAndAttendanceWhenSessionIsCreated() {
+        GymSession gymSession = session("coach1", LocalDate.of(2025, 5, 20), List.of(true, false, true));
+
+        statsCounterService.sessionCreated(gymSession);
+
+        verify(statsCounterRepository).increment(CounterKind.COACH_SESSIONS, "coach1", 1);
+        verify(statsCounterRepository).increment(CounterKind.DAILY_ATTENDANCE, "2025-05-20", 2);
+    }
+
+    @Test
+    void shouldMoveCountersWhenSessionChangesCoach() {
+        GymSession before = session("coach1", LocalDate.of(2025, 5, 20), List.of());
+        GymSession after = session("coach2", LocalDate.of(2025, 5, 20), List.of());
+
+        statsCounterService.sessionReplaced(before, after);
+
+        verify(statsCounterRepository).increment(CounterKind.COACH_SESSIONS, "coach1", -1);
+        verify(statsCounterRepository).increment(CounterKind.COACH_SESSIONS, "coach2", 1);
+        verify(statsCounterRepository, never()).increment(eq(CounterKind.DAILY_ATTENDANCE), anyString(), anyLong());
+    }
+
+    @Test
+    void shouldApplyOnlyTheAttendanceDelta() {
+        statsCounterService.attendanceChanged(LocalDate.of(2025, 5, 20), List.of(true, false, false), List.of(true, true, true));
+
+        verify(statsCounterRepository).increment(CounterKind.DAILY_ATTENDANCE, "2025-05-20", 2);
+    }
+
+    @Test
+    void shouldNotFailTheWriteWhenCounterUpdateFails() {
+        doThrow(new DataAccessResourceFailureException("sin conexión"))
+                .when(statsCounterRepository).increment(any(), anyString(), anyLong());
+
+        assertDoesNotThrow(() -> statsCounterService.reservationsAdded("session1", 6));
+    }
+
+    @Test
+    void shouldReadOnlyPositiveCounters() {
+        when(statsCounterRepository.findByKind(CounterKind.COACH_SESSIONS)).thenReturn(List.of(
+                new StatsCounter("COACH_SESSIONS:coach1", CounterKind.COACH_SESSIONS, "coach1", 4),
+                new StatsCounter("COACH_SESSIONS:coach2", CounterKind.COACH_SESSIONS, "coach2", 0)));
+
+        assertEquals(Map.of("coach1", 4), statsCounterService.sessionsByCoach());
+    }
+
+    @Test
+    void shouldRebuildEveryCounterFromSourceCollections() {
+        when(gymSessionRepository.countSessionsByCoach(null, null)).thenReturn(Map.of("coach1", 3));
+        when(reservationRepository.countReservationsBySession(null, null)).thenReturn(Map.of("session1", 5, "session2", 1));
+        when(gymSessionRepository.countAttendanceByDay()).thenReturn(Map.of(LocalDate.of(2025, 5, 20), 7));
+        when(statsCounterRepository.replaceAll(any(), anyMap())).thenAnswer(invocation -> ((Map<?, ?>) invocation.getArgument(1)).size());
+
+        Map<CounterKind, Integer> written = statsCounterService.rebuild();
+
+        assertEquals(Map.of(CounterKind.COACH_SESSIONS, 1, CounterKind.SESSION_RESERVATIONS, 2, CounterKind.DAILY_ATTENDANCE, 1), written);
+        verify(statsCounterRepository).replaceAll(CounterKind.DAILY_ATTENDANCE, Map.of("2025-05-20", 7));
+    }
+
+    private GymSession session(String coachId, LocalDate date, List<Boolean> attendance) {
+        GymSession gymSession = new GymSession();
+        gymSession.setCoachId(new UserSummary(coachId, "Coach", "coach@mail.com"));
+        gymSession.setDate(date);
+        // La asistencia se guarda por puesto, así que cada marca necesita su usuario
+        for (int i = 0; i < attendance.size(); i++) {
+            gymSession.enroll(new UserSummary("user" + i, "Estudiante", "user" + i + "@mail.com"));
+        }
+        gymSession.setAttendance(attendance);
+        return gymSession;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.embeddables.UserSummary;
+import edu.eci.cvds.ECIBienestarGym.model.GymSession;
+import edu.eci.cvds.ECIBienestarGym.model.Reservation;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SummarySyncServiceTest {
+    private MongoTemplate mongoTemplate;
+    private SummarySyncService summarySyncService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        summarySyncService = new SummarySyncService(mongoTemplate, Runnable::run);
+    }
+
+    @Test
+    void shouldSyncUserSummaryIntoReservationsAndSessionsAfterSave() {
+        User user = new User("user1", "Ana", "ana@mail.com");
+
+        summarySyncService.onAfterSave(new AfterSaveEvent<>(user, new Document(), "users"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).updateMulti(query.capture(), update.capture(), eq(Reservation.class));
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(GymSession.class));
+
+        assertEquals("user1", query.getValue().getQueryObject().get("userId._id"));
+        UserSummary summary = (UserSummary) update.getValue().getUpdateObject().get("$set", Document.class).get("userId");
+        assertEquals("Ana", summary.getName());
+        assertEquals("ana@mail.com", summary.getEmail());
+    }
+
+    @Test
+    void shouldSyncSessionSlotIntoReservationsAfterSave() {
+        GymSession gymSession = new GymSession();
+        gymSession.setId("session1");
+        gymSession.setDate(LocalDate.of(2025, 5, 20));
+        gymSession.setStartTime(LocalTime.of(9, 0));
+        gymSession.setEndTime(LocalTime.of(10, 0));
+
+        summarySyncService.onAfterSave(new AfterSaveEvent<>(gymSession, new Document(), "gymSessions"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).updateMulti(query.capture(), any(Update.class), eq(Reservation.class));
+        assertEquals("session1", query.getValue().getQueryObject().get("gymSessionId._id"));
+    }
+
+    @Test
+    void shouldIgnoreSavesOfOtherDocuments() {
+        summarySyncService.onAfterSave(new AfterSaveEvent<>(new Reservation(), new Document(), "reservations"));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
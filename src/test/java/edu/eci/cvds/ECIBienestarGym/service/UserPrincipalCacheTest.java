@@ -0,0 +1,57 @@
+package edu.eci.cvds.ECIBienestarGym.service;
+
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
+import edu.eci.cvds.ECIBienestarGym.model.User;
+import edu.eci.cvds.ECIBienestarGym.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserPrincipalCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserPrincipalCache cache = new UserPrincipalCache(userRepository, 100, Duration.ofMinutes(5));
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        User before = new User("user1", "Ana", "ana@mail.com");
+        before.setRole(Role.STUDENT);
+        User after = new User("user1", "Ana", "ana@mail.com");
+        after.setRole(Role.TRAINER);
+        when(userRepository.findByEmail("ana@mail.com")).thenReturn(Optional.of(before)).thenReturn(Optional.of(after));
+
+        assertEquals(Role.STUDENT, cache.findByEmail("ana@mail.com").orElseThrow().getRole());
+        assertEquals(Role.STUDENT, cache.findByEmail("ana@mail.com").orElseThrow().getRole());
+        cache.invalidate("ana@mail.com");
+
+        assertEquals(Role.TRAINER, cache.findByEmail("ana@mail.com").orElseThrow().getRole());
+        verify(userRepository, times(2)).findByEmail("ana@mail.com");
+    }
+
+    @Test
+    void shouldNotRememberUnknownEmails() {
+        User created = new User("user2", "Luis", "luis@mail.com");
+        when(userRepository.findByEmail("luis@mail.com")).thenReturn(Optional.empty()).thenReturn(Optional.of(created));
+
+        assertTrue(cache.findByEmail("luis@mail.com").isEmpty());
+        assertEquals("user2", cache.findByEmail("luis@mail.com").orElseThrow().getId());
+    }
+
+    @Test
+    void shouldHandOutCopiesOfTheCachedUser() {
+        when(userRepository.findByEmail("ana@mail.com")).thenReturn(Optional.of(new User("user1", "Ana", "ana@mail.com")));
+
+        cache.findByEmail("ana@mail.com").orElseThrow().setPassword("cambiada");
+
+        assertNull(cache.findByEmail("ana@mail.com").orElseThrow().getPassword());
+    }
+}
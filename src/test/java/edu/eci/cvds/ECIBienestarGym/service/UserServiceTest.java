@@ -26,6 +26,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -120,6 +123,27 @@ public class UserServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void shouldInvalidatePreviousEmailWhenCreateReplacesExistingUser() throws GYMException {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId("user123");
+        userDTO.setName("John Doe");
+        userDTO.setEmail("john.new@example.com");
+        userDTO.setRole(Role.STUDENT);
+
+        User existing = new User();
+        existing.setId("user123");
+        existing.setEmail("john.old@example.com");
+
+        when(userRepository.findById("user123")).thenReturn(Optional.of(existing));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.createUser(userDTO);
+
+        verify(userPrincipalCache).invalidate("john.old@example.com");
+        verify(userPrincipalCache).invalidate("john.new@example.com");
+    }
+
     @Test
     void shouldReturnAllUsers() {
         List<User> mockUsers = Arrays.asList(new User(), new User());
@@ -203,6 +227,7 @@ public class UserServiceTest {
         String id = "user123";
         UserDTO userDTO = new UserDTO();
         User mockUser = new User();
+        mockUser.setEmail("user123@mail.com");
         when(userRepository.findById(id)).thenReturn(Optional.of(mockUser));
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
 
@@ -211,6 +236,7 @@ public class UserServiceTest {
         assertEquals(mockUser, updatedUser);
         verify(userRepository, times(1)).findById(id);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userPrincipalCache).invalidate("user123@mail.com");
     }
 
     @Test
@@ -218,6 +244,7 @@ public class UserServiceTest {
         String id = "user123";
         User mockUser = new User();
         mockUser.setId(id);
+        mockUser.setEmail("user123@mail.com");
 
         when(userRepository.findById(id)).thenReturn(Optional.of(mockUser));
         doNothing().when(userRepository).deleteById(id);
@@ -226,6 +253,7 @@ public class UserServiceTest {
 
         verify(userRepository, times(1)).findById(id);
         verify(userRepository, times(1)).deleteById(id);
+        verify(userPrincipalCache).invalidate("user123@mail.com");
     }
 
     @Test
@@ -0,0 +1,89 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import feign.Request;
+import feign.RetryableException;
+import feign.Retryer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class CachingStatsClientTest {
+    private stats remote;
+    private CachingStatsClient client;
+
+    @BeforeEach
+    void setUp() {
+        remote = mock(stats.class);
+        client = new CachingStatsClient(remote, 10, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldCallRemoteOnceForEqualInputs() {
+        when(remote.getStatsByCoach(Map.of("coach1", 2))).thenReturn(Map.of("totalSesiones", 2));
+
+        Map<String, Integer> first = new HashMap<>(Map.of("coach1", 2));
+        Map<String, Integer> second = new HashMap<>(Map.of("coach1", 2));
+        client.getStatsByCoach(first);
+        Map<String, Object> cached = client.getStatsByCoach(second);
+
+        assertEquals(Map.of("totalSesiones", 2), cached);
+        verify(remote, times(1)).getStatsByCoach(anyMap());
+    }
+
+    @Test
+    void shouldCallRemoteAgainWhenCountsChange() {
+        when(remote.getStatsByCoach(anyMap())).thenReturn(Map.of());
+
+        client.getStatsByCoach(Map.of("coach1", 2));
+        client.getStatsByCoach(Map.of("coach1", 3));
+
+        verify(remote, times(2)).getStatsByCoach(anyMap());
+    }
+
+    @Test
+    void shouldNotCacheFallbackAnswers() {
+        StatsFallback fallback = new StatsFallback(new LocalStatsCalculator());
+        when(remote.getStatsByCoach(anyMap()))
+                .thenAnswer(invocation -> fallback.getStatsByCoach(invocation.getArgument(0)))
+                .thenReturn(Map.of("totalSesiones", 2));
+
+        client.getStatsByCoach(Map.of("coach1", 2));
+        client.getStatsByCoach(Map.of("coach1", 2));
+        Map<String, Object> cached = client.getStatsByCoach(Map.of("coach1", 2));
+
+        assertEquals(Map.of("totalSesiones", 2), cached);
+        verify(remote, times(2)).getStatsByCoach(anyMap());
+    }
+
+    @Test
+    void shouldRetryRefusedConnectionsButNotTimeouts() {
+        Retryer retryer = new StatsClientConfig().statsRetryer(2);
+
+        retryer.continueOrPropagate(failure(new ConnectException("Connection refused")));
+        RetryableException timeout = failure(new SocketTimeoutException("Read timed out"));
+        assertSame(timeout, assertThrows(RetryableException.class, () -> retryer.clone().continueOrPropagate(timeout)));
+    }
+
+    private RetryableException failure(Exception cause) {
+        Request request = Request.create(Request.HttpMethod.POST, "/sessions/by-coach", Map.of(), null, StandardCharsets.UTF_8, null);
+        return new RetryableException(-1, cause.getMessage(), Request.HttpMethod.POST, cause, (Long) null, request);
+    }
+
+    @Test
+    void shouldDelegateFallbackAggregatesToLocalCalculator() {
+        StatsFallback fallback = new StatsFallback(new LocalStatsCalculator());
+
+        assertEquals(5, fallback.getStatsByCoach(Map.of("coach1", 5)).get("totalSesiones"));
+    }
+}
@@ -0,0 +1,50 @@
+package edu.eci.cvds.ECIBienestarGym.statistic;
+
+import edu.eci.cvds.ECIBienestarGym.dto.GymSessionDTO;
+import edu.eci.cvds.ECIBienestarGym.dto.ReservationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class LocalStatsCalculatorTest {
+    private final LocalStatsCalculator calculator = new LocalStatsCalculator();
+
+    @Test
+    void shouldSummarizeSessionsByCoach() {
+        Map<String, Object> stats = calculator.statsByCoach(Map.of("coach1", 4, "coach2", 2));
+
+        assertEquals(6, stats.get("totalSesiones"));
+        assertEquals(2, stats.get("totalCoaches"));
+        assertEquals(3.0, stats.get("promedioPorCoach"));
+        assertEquals("coach1", stats.get("coachConMasSesiones"));
+    }
+
+    @Test
+    void shouldHandleNoCoaches() {
+        Map<String, Object> stats = calculator.statsByCoach(Map.of());
+
+        assertEquals(0, stats.get("totalSesiones"));
+        assertEquals(0.0, stats.get("promedioPorCoach"));
+        assertFalse(stats.containsKey("coachConMasSesiones"));
+    }
+
+    @Test
+    void shouldCountStudentsBySession() {
+        Map<String, Integer> counts = calculator.studentsBySession(List.of(
+                reservation("s1"), reservation("s1"), reservation("s2"), new ReservationDTO()));
+
+        assertEquals(Map.of("s1", 2, "s2", 1), counts);
+    }
+
+    private ReservationDTO reservation(String sessionId) {
+        GymSessionDTO gymSession = new GymSessionDTO();
+        gymSession.setId(sessionId);
+        ReservationDTO reservation = new ReservationDTO();
+        reservation.setGymSessionId(gymSession);
+        return reservation;
+    }
+}
@@ -1,9 +1,18 @@
 package edu.eci.cvds.ECIBienestarGym.util;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import edu.eci.cvds.ECIBienestarGym.enums.Role;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -15,5 +24,74 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public class JwUtilTest {
+    private static final String SECRET = "EPRiC0Bt0/2KcBRRWqVKhEWzModEtI6Q4K05RWuLgVQV4Xw92Ulk9kHPmQVjiRW5c9XtLNm4lgNoridiLgvZpg==";
+
+    private JwtUtil jwtUtil;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = new JwtUtil(100, meterRegistry);
+    }
+
+    @Test
+    void shouldVerifyValidTokenAndExtractEmailAndRole() {
+        String token = token("ana@mail.com", "STUDENT", SECRET, 60_000);
+
+        Optional<JwtUtil.VerifiedToken> verified = jwtUtil.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("ana@mail.com", verified.get().email());
+        assertEquals(Role.STUDENT, verified.get().role());
+        assertTrue(jwtUtil.isTokenValid(token));
+        assertEquals("ana@mail.com", jwtUtil.extractUserEmail(token));
+        assertEquals(Role.STUDENT, jwtUtil.extractRole(token));
+    }
+
+    @Test
+    void shouldServeRepeatedTokensFromCache() {
+        String token = token("ana@mail.com", "TRAINER", SECRET, 60_000);
+
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+
+        assertEquals(1, cacheGets("miss"));
+        assertEquals(2, cacheGets("hit"));
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String token = token("ana@mail.com", "STUDENT", SECRET, -1_000);
+
+        assertFalse(jwtUtil.isTokenValid(token));
+        assertNull(jwtUtil.extractUserEmail(token));
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        String otherSecret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded());
+        String token = token("ana@mail.com", "ADMINISTRATOR", otherSecret, 60_000);
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertFalse(jwtUtil.isTokenValid("no.es.un.jwt"));
+    }
+
+    private String token(String email, String role, String secret, long millisToExpire) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("roles", List.of(role))
+                .setExpiration(new Date(System.currentTimeMillis() + millisToExpire))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS512)
+                .compact();
+    }
 
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", result).functionCounter().count();
+    }
 }